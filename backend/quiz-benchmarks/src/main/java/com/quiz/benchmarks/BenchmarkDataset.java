@@ -0,0 +1,167 @@
+package com.quiz.benchmarks;
+
+import com.quiz.backend.QuizBackendApplication;
+import com.quiz.backend.service.QuizImportService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boots the backend against a private in-memory H2 database and fills it
+ * with a generated, reproducible dataset: users, quizzes of a fixed number
+ * of questions (imported through {@link QuizImportService}, so versions are
+ * published as in production) and results spread over both.
+ */
+public final class BenchmarkDataset implements AutoCloseable {
+
+    public static final String PASSWORD = "benchmark-password";
+
+    private static final long SEED = 42;
+
+    private final ConfigurableApplicationContext context;
+    private final List<String> emails;
+    private final List<Long> quizIds;
+    private final Path journalDirectory;
+
+    private BenchmarkDataset(ConfigurableApplicationContext context, List<String> emails,
+                             List<Long> quizIds, Path journalDirectory) {
+        this.context = context;
+        this.emails = emails;
+        this.quizIds = quizIds;
+        this.journalDirectory = journalDirectory;
+    }
+
+    public static BenchmarkDataset create(int users, int quizzes, int questionsPerQuiz, int results) {
+        Path journalDirectory;
+        try {
+            journalDirectory = Files.createTempDirectory("quiz-benchmarks");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Passed as arguments so they take precedence over application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(QuizBackendApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:bench-" + System.nanoTime()
+                                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--jwt.secret=benchmark-secret-benchmark-secret-benchmark-secret-0123456789",
+                        "--quiz.results.journal-path=" + journalDirectory.resolve("results.journal"),
+                        "--logging.level.root=WARN");
+
+        Random random = new Random(SEED);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        List<String> emails = insertUsers(jdbc, users);
+        List<Long> quizIds = importQuizzes(context.getBean(QuizImportService.class), jdbc, quizzes,
+                questionsPerQuiz, random);
+        insertResults(jdbc, users, quizIds, questionsPerQuiz, results, random);
+        return new BenchmarkDataset(context, emails, quizIds, journalDirectory);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public List<String> getEmails() { return emails; }
+
+    public List<Long> getQuizIds() { return quizIds; }
+
+    @Override
+    public void close() {
+        context.close();
+        try (var files = Files.walk(journalDirectory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            // temporary directory; nothing to do
+        }
+    }
+
+    // One bcrypt hash shared by every user keeps setup fast
+    private static List<String> insertUsers(JdbcTemplate jdbc, int users) {
+        String hash = "{bcrypt}" + new BCryptPasswordEncoder(10).encode(PASSWORD);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<String> emails = new ArrayList<>(users);
+        List<Object[]> rows = new ArrayList<>(users);
+        for (int i = 1; i <= users; i++) {
+            String email = "student" + i + "@bench.local";
+            emails.add(email);
+            rows.add(new Object[]{"Student " + i, email, hash, "STUDENT", now});
+        }
+        jdbc.batchUpdate("INSERT INTO users (name, email, password, role, created_at) VALUES (?, ?, ?, ?, ?)", rows);
+        return emails;
+    }
+
+    private static List<Long> importQuizzes(QuizImportService importService, JdbcTemplate jdbc, int quizzes,
+                                            int questionsPerQuiz, Random random) {
+        StringBuilder ndjson = new StringBuilder();
+        for (int q = 1; q <= quizzes; q++) {
+            ndjson.append("{\"title\":\"Benchmark quiz ").append(q)
+                    .append("\",\"description\":\"Generated quiz number ").append(q)
+                    .append("\",\"category\":\"Category ").append(q % 10)
+                    .append("\",\"difficulty\":\"").append(q % 3 == 0 ? "Hard" : q % 3 == 1 ? "Easy" : "Medium")
+                    .append("\",\"durationMinutes\":30,\"questions\":[");
+            for (int i = 0; i < questionsPerQuiz; i++) {
+                if (i > 0) {
+                    ndjson.append(',');
+                }
+                ndjson.append("{\"question\":\"Question ").append(i).append(" of quiz ").append(q)
+                        .append("\",\"option1\":\"Option A\",\"option2\":\"Option B\",")
+                        .append("\"option3\":\"Option C\",\"option4\":\"Option D\",\"correctAnswer\":")
+                        .append(random.nextInt(4)).append('}');
+            }
+            ndjson.append("]}\n");
+        }
+        try {
+            importService.importQuizzes(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)),
+                    "ndjson");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return jdbc.queryForList("SELECT id FROM quizzes ORDER BY id", Long.class);
+    }
+
+    private static void insertResults(JdbcTemplate jdbc, int users, List<Long> quizIds, int questionsPerQuiz,
+                                      int results, Random random) {
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        List<Object[]> batch = new ArrayList<>(1000);
+        for (int i = 1; i <= results; i++) {
+            int correct = random.nextInt(questionsPerQuiz + 1);
+            batch.add(new Object[]{
+                    (long) i,
+                    1L + random.nextInt(users),
+                    quizIds.get(random.nextInt(quizIds.size())),
+                    correct * 100 / questionsPerQuiz,
+                    questionsPerQuiz,
+                    correct,
+                    60 + random.nextInt(1200),
+                    Timestamp.valueOf(start.plusSeconds(i * 30L))
+            });
+            if (batch.size() == 1000 || i == results) {
+                jdbc.batchUpdate("INSERT INTO results (id, user_id, quiz_id, score, total_questions, "
+                        + "correct_answers, time_taken, completed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        // The pooled optimizer hands out the 50 ids below each sequence value
+        jdbc.execute("ALTER SEQUENCE results_seq RESTART WITH " + (results + 50));
+    }
+}
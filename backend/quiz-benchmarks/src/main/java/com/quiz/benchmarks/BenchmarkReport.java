@@ -0,0 +1,106 @@
+package com.quiz.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files, typically the saved report of the
+ * previous release and the current run:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar -rf json -rff reports/1.1.0.json
+ * java -cp target/benchmarks.jar com.quiz.benchmarks.BenchmarkReport reports/1.0.0.json reports/1.1.0.json 10
+ * </pre>
+ *
+ * Prints one line per benchmark and parameter combination and exits with
+ * status 1 when any of them regressed by more than the threshold percent
+ * (default 10). Throughput is better when higher, every other mode when lower.
+ */
+public final class BenchmarkReport {
+
+    private static final double DEFAULT_THRESHOLD = 10.0;
+
+    private BenchmarkReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkReport <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-80s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null || before.value == 0) {
+                System.out.printf("%-80s %14s %14.3f %9s  %s%n", entry.getKey(), "-", now.value, "new", now.unit);
+                continue;
+            }
+            double change = (now.value - before.value) * 100.0 / before.value;
+            // Positive means worse in either mode
+            double worse = now.higherIsBetter ? -change : change;
+            boolean regressed = worse > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), before.value, now.value,
+                    change, now.unit, regressed ? "  REGRESSION" : "");
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("%-80s %14.3f %14s %9s%n", key, baseline.get(key).value, "-", "removed");
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText()
+                    .replace("com.quiz.benchmarks.", ""));
+            JsonNode params = run.path("params");
+            Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                key.append(key.indexOf("[") < 0 ? " [" : ", ")
+                        .append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            if (key.indexOf("[") >= 0) {
+                key.append(']');
+            }
+            String mode = run.path("mode").asText();
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key.toString(), new Score(metric.path("score").asDouble(),
+                    metric.path("scoreUnit").asText(), "thrpt".equals(mode)));
+        }
+        return scores;
+    }
+
+    private static final class Score {
+        final double value;
+        final String unit;
+        final boolean higherIsBetter;
+
+        Score(double value, String unit, boolean higherIsBetter) {
+            this.value = value;
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+        }
+    }
+}
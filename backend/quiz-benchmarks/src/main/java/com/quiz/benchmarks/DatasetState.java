@@ -0,0 +1,36 @@
+package com.quiz.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Shared generated dataset for benchmarks that need the database. Sizes are
+ * JMH parameters, e.g. {@code -p users=10000 -p results=1000000}, and are
+ * recorded with every result in the report.
+ */
+@State(Scope.Benchmark)
+public class DatasetState {
+
+    @Param({"1000"})
+    public int users;
+
+    @Param({"100"})
+    public int quizzes;
+
+    @Param({"20"})
+    public int questionsPerQuiz;
+
+    @Param({"10000"})
+    public int results;
+
+    public BenchmarkDataset dataset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.create(users, quizzes, questionsPerQuiz, results);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+}
@@ -0,0 +1,86 @@
+package com.quiz.benchmarks;
+
+import com.quiz.backend.model.User;
+import com.quiz.backend.security.JwtTokenProvider;
+import com.quiz.backend.security.UserPrincipal;
+import com.quiz.backend.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token handling cost of one authenticated request in
+ * {@code JwtAuthenticationFilter}. {@code previous} reproduces the old
+ * filter: a key and parser built per call and the token verified twice
+ * (validate, then read the subject). {@code singleParse} verifies once with
+ * the prebuilt parser; {@code cachedSession} is a repeat request from the same
+ * session answered by the verified-token cache. The user lookup the old filter
+ * did afterwards is not included. {@code generate} is the signing cost of a
+ * login.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+    private static final long EXPIRATION = 86_400_000L;
+
+    private JwtTokenProvider uncached;
+    private JwtTokenProvider cached;
+    private String token;
+    private UsernamePasswordAuthenticationToken authentication;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtTokenProvider(SECRET, EXPIRATION, 0);
+        cached = new JwtTokenProvider(SECRET, EXPIRATION, 10_000);
+
+        UserPrincipal principal = new UserPrincipal(42L, "student@example.com", "Student", User.Role.STUDENT, null);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = cached.generateToken(authentication);
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public String previous() {
+        try {
+            Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                    .build()
+                    .parseSignedClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        Claims claims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return claims.getSubject();
+    }
+
+    @Benchmark
+    public VerifiedToken singleParse() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken cachedSession() {
+        return cached.verify(token);
+    }
+
+    // Issued once per login
+    @Benchmark
+    public String generate() {
+        return uncached.generateToken(authentication);
+    }
+}
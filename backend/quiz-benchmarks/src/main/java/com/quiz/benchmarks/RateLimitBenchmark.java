@@ -0,0 +1,130 @@
+package com.quiz.benchmarks;
+
+import com.quiz.backend.model.User;
+import com.quiz.backend.security.JwtTokenProvider;
+import com.quiz.backend.security.RateLimitFilter;
+import com.quiz.backend.security.RateLimiter;
+import com.quiz.backend.security.UserPrincipal;
+import com.quiz.backend.security.VerifiedToken;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
+/**
+ * Cost of rate limiting one request that is under its limit. The
+ * {@code acquire*} benchmarks time the token bucket alone: one key, one key
+ * shared by four threads, and 10,000 keys in rotation. The {@code filter*}
+ * benchmarks run {@link RateLimitFilter} with the routes of SecurityConfig:
+ * an authenticated API call keyed by user (token answered by the verified
+ * token cache) and a login keyed by IP. Limits are set high enough that
+ * nothing is rejected. {@code tokenLookup} is the header read and token
+ * verification that the filter takes over from JwtAuthenticationFilter, so
+ * the cost added to an authenticated request is filterAuthenticated minus
+ * tokenLookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+    // One token per nanosecond: a bucket that never runs dry at these call rates
+    private static final long PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+    private static final int BURST = 1_000_000;
+    private static final int KEYS = 10_000;
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private RateLimiter limiter;
+    private String[] keys;
+    private int next;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private RateLimitFilter filter;
+    private MockHttpServletRequest apiRequest;
+    private MockHttpServletRequest loginRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        limiter = new RateLimiter("benchmark", RateLimiter.Scope.USER, PER_MINUTE, BURST, 100_000);
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "student" + i + "@bench.local";
+            limiter.tryAcquire(keys[i], System.nanoTime());
+        }
+
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 86_400_000L, 10_000);
+        filter = new RateLimitFilter(jwtTokenProvider, 100_000)
+                .limit("auth", RateLimiter.Scope.IP, PER_MINUTE, BURST,
+                        antMatcher(HttpMethod.POST, "/api/auth/**"))
+                .limit("password", RateLimiter.Scope.USER, PER_MINUTE, BURST,
+                        antMatcher(HttpMethod.PUT, "/api/users/me/password"))
+                .limit("submit", RateLimiter.Scope.USER, PER_MINUTE, BURST,
+                        antMatcher(HttpMethod.POST, "/api/results"),
+                        antMatcher(HttpMethod.POST, "/api/attempts/*/submit"))
+                .limit("autosave", RateLimiter.Scope.USER, PER_MINUTE, BURST,
+                        antMatcher(HttpMethod.PATCH, "/api/attempts/*/answers"))
+                .limit("api", RateLimiter.Scope.USER, PER_MINUTE, BURST,
+                        antMatcher("/api/**"));
+
+        UserPrincipal principal = new UserPrincipal(42L, "student@example.com", "Student", User.Role.STUDENT, null);
+        String token = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        apiRequest = new MockHttpServletRequest("GET", "/api/quizzes/7");
+        apiRequest.setServletPath("/api/quizzes/7");
+        apiRequest.addHeader("Authorization", "Bearer " + token);
+        loginRequest = new MockHttpServletRequest("POST", "/api/auth/login");
+        loginRequest.setServletPath("/api/auth/login");
+        loginRequest.setRemoteAddr("203.0.113.7");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public long acquire() {
+        return limiter.tryAcquire(keys[0], System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long acquireContended() {
+        return limiter.tryAcquire(keys[0], System.nanoTime());
+    }
+
+    @Benchmark
+    public long acquireManyKeys() {
+        int index = next;
+        next = index + 1 == KEYS ? 0 : index + 1;
+        return limiter.tryAcquire(keys[index], System.nanoTime());
+    }
+
+    @Benchmark
+    public int filterAuthenticated() throws ServletException, IOException {
+        filter.doFilter(apiRequest, response, CHAIN);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public VerifiedToken tokenLookup() {
+        return jwtTokenProvider.verify(apiRequest.getHeader("Authorization").substring(7));
+    }
+
+    @Benchmark
+    public int filterLogin() throws ServletException, IOException {
+        filter.doFilter(loginRequest, response, CHAIN);
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,100 @@
+package com.quiz.benchmarks;
+
+import com.quiz.backend.model.Question;
+import com.quiz.backend.model.Quiz;
+import com.quiz.backend.service.AnswerKey;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Submissions per second scored against the cached {@link AnswerKey}
+ * versus the previous path, which hydrated a fresh {@code Quiz} with all of
+ * its {@code Question} rows for every submission and walked the entities.
+ * The database round trips of the old path are not included, so the real
+ * gap is larger than what this reports.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoringBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int questions;
+
+    private byte[] correct;
+    private AnswerKey answerKey;
+    private Map<Long, Integer> answers;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        long[] ids = new long[questions];
+        correct = new byte[questions];
+        answers = new HashMap<>();
+        for (int i = 0; i < questions; i++) {
+            ids[i] = 1000L + i;
+            correct[i] = (byte) random.nextInt(4);
+            answers.put(ids[i], random.nextInt(4));
+        }
+        answerKey = new AnswerKey(1L, "Benchmark Quiz", "Benchmarks", 30, true, ids, correct);
+    }
+
+    @Benchmark
+    public int cachedAnswerKey() {
+        int correct = answerKey.countCorrect(answers);
+        return answerKey.score(correct);
+    }
+
+    // The current submission path: answers mapped to key order once, then scored over the byte array
+    @Benchmark
+    public int responseArray() {
+        byte[] responses = answerKey.toOptions(answers);
+        int correct = answerKey.countCorrect(responses);
+        return answerKey.score(correct, answerKey.countPresented(responses));
+    }
+
+    @Benchmark
+    public int hydratedEntities(Blackhole blackhole) {
+        Quiz quiz = hydrateQuiz();
+        blackhole.consume(quiz);
+
+        int correctAnswers = 0;
+        List<Question> quizQuestions = quiz.getQuestions();
+        for (Question question : quizQuestions) {
+            Integer userAnswer = answers.get(question.getId());
+            if (userAnswer != null && userAnswer.equals(question.getCorrectAnswer())) {
+                correctAnswers++;
+            }
+        }
+        return (int) ((correctAnswers * 100.0) / quizQuestions.size());
+    }
+
+    // Mirrors what Hibernate materialized per submission before the cache
+    private Quiz hydrateQuiz() {
+        Quiz quiz = new Quiz();
+        quiz.setId(1L);
+        quiz.setTitle("Benchmark Quiz");
+        quiz.setDescription("Generated for benchmarking");
+        for (int i = 0; i < questions; i++) {
+            Question question = new Question();
+            question.setId(1000L + i);
+            question.setQuestion("Question text number " + i);
+            question.setOption1("Option A " + i);
+            question.setOption2("Option B " + i);
+            question.setOption3("Option C " + i);
+            question.setOption4("Option D " + i);
+            question.setCorrectAnswer((int) correct[i]);
+            quiz.addQuestion(question);
+        }
+        return quiz;
+    }
+}
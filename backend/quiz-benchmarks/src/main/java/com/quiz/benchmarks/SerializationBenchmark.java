@@ -0,0 +1,151 @@
+package com.quiz.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.quiz.backend.dto.PublishedQuiz;
+import com.quiz.backend.dto.ResultSummary;
+import com.quiz.backend.model.Question;
+import com.quiz.backend.model.Quiz;
+import com.quiz.backend.model.Result;
+import com.quiz.backend.model.User;
+import com.quiz.backend.service.QuizSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization with the ObjectMapper configuration Spring Boot
+ * uses. {@code quiz} is GET /api/quizzes/{id} as admins see it, and
+ * {@code publishedQuiz}/{@code publishedQuizCbor} the student form, which is
+ * serialized once per quiz version rather than per request. {@code resultEntities} is the
+ * entity graph of GET /api/results/student (each result drags its user and
+ * the whole quiz); {@code resultSummaries} is the flat admin projection.
+ * The quiz snapshot codec is included for comparison with JSON.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"10", "50"})
+    public int questions;
+
+    @Param({"50"})
+    public int resultRows;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper cborMapper;
+    private Quiz quiz;
+    private PublishedQuiz publishedQuiz;
+    private List<Result> resultEntities;
+    private List<ResultSummary> resultSummaries;
+    private byte[] snapshot;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cborMapper = objectMapper.copyWith(new CBORFactory());
+
+        LocalDateTime now = LocalDateTime.now();
+        quiz = new Quiz();
+        quiz.setId(1L);
+        quiz.setTitle("Benchmark Quiz");
+        quiz.setDescription("Generated for benchmarking");
+        quiz.setCategory("Benchmarks");
+        quiz.setDifficulty("Medium");
+        quiz.setDurationMinutes(30);
+        quiz.setCreatedAt(now);
+        quiz.setUpdatedAt(now);
+        for (int i = 0; i < questions; i++) {
+            Question question = new Question();
+            question.setId(1000L + i);
+            question.setQuestion("Question text number " + i);
+            question.setOption1("Option A " + i);
+            question.setOption2("Option B " + i);
+            question.setOption3("Option C " + i);
+            question.setOption4("Option D " + i);
+            question.setCorrectAnswer(i % 4);
+            quiz.addQuestion(question);
+        }
+
+        User user = new User();
+        user.setId(7L);
+        user.setName("Student");
+        user.setEmail("student@example.com");
+        user.setCreatedAt(now);
+
+        resultEntities = new ArrayList<>(resultRows);
+        resultSummaries = new ArrayList<>(resultRows);
+        for (int i = 0; i < resultRows; i++) {
+            Result result = new Result();
+            result.setId((long) i);
+            result.setUser(user);
+            result.setQuiz(quiz);
+            result.setScore(i % 101);
+            result.setTotalQuestions(questions);
+            result.setCorrectAnswers(i % (questions + 1));
+            result.setTimeTaken(300);
+            result.setCompletedAt(now);
+            resultEntities.add(result);
+            resultSummaries.add(new ResultSummary((long) i, 7L, "Student", "student@example.com", 1L,
+                    "Benchmark Quiz", i % 101, questions, i % (questions + 1), 300, now));
+        }
+
+        snapshot = QuizSnapshot.encode(quiz, 1);
+
+        QuizSnapshot decoded = QuizSnapshot.decode(1L, snapshot);
+        List<PublishedQuiz.Item> items = new ArrayList<>();
+        for (QuizSnapshot.Item item : decoded.getQuestions()) {
+            items.add(new PublishedQuiz.Item(item.getId(), item.getQuestion(), item.getOptions()));
+        }
+        publishedQuiz = new PublishedQuiz(1L, 1L, decoded.getTitle(), decoded.getDescription(),
+                decoded.getCategory(), decoded.getDifficulty(), decoded.getDurationMinutes(),
+                decoded.getQuestionsPerAttempt(), items);
+    }
+
+    @Benchmark
+    public byte[] quiz() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(quiz);
+    }
+
+    @Benchmark
+    public byte[] publishedQuiz() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(publishedQuiz);
+    }
+
+    @Benchmark
+    public byte[] publishedQuizCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(publishedQuiz);
+    }
+
+    @Benchmark
+    public byte[] resultEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(resultEntities);
+    }
+
+    @Benchmark
+    public byte[] resultSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(resultSummaries);
+    }
+
+    @Benchmark
+    public byte[] snapshotEncode() {
+        return QuizSnapshot.encode(quiz, 1);
+    }
+
+    @Benchmark
+    public QuizSnapshot snapshotDecode() {
+        return QuizSnapshot.decode(1L, snapshot);
+    }
+}
@@ -0,0 +1,52 @@
+package com.quiz.benchmarks;
+
+import com.quiz.backend.security.PrincipalCache;
+import com.quiz.backend.security.UserDetailsServiceImpl;
+import com.quiz.backend.security.UserPrincipal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the user behind a request. {@code databaseLookup} is
+ * {@link UserDetailsServiceImpl#loadUserByUsername} against the generated H2
+ * dataset, which the filter pays when the cache misses; {@code principalCache}
+ * is the cached path every other request takes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserLookupBenchmark {
+
+    private UserDetailsServiceImpl userDetailsService;
+    private PrincipalCache principalCache;
+    private List<String> emails;
+
+    @Setup
+    public void setUp(DatasetState state) {
+        userDetailsService = state.dataset.bean(UserDetailsServiceImpl.class);
+        principalCache = state.dataset.bean(PrincipalCache.class);
+        emails = state.dataset.getEmails();
+    }
+
+    @Benchmark
+    public UserDetails databaseLookup() {
+        return userDetailsService.loadUserByUsername(randomEmail());
+    }
+
+    @Benchmark
+    public UserPrincipal principalCache() {
+        return principalCache.get(randomEmail(),
+                email -> (UserPrincipal) userDetailsService.loadUserByUsername(email));
+    }
+
+    private String randomEmail() {
+        return emails.get(ThreadLocalRandom.current().nextInt(emails.size()));
+    }
+}
@@ -0,0 +1,172 @@
+package com.quiz.loadtest;
+
+import com.quiz.backend.QuizBackendApplication;
+import com.quiz.backend.service.QuizImportService;
+import com.quiz.backend.service.StudentStatsService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The backend on a private in-memory H2 database, seeded with admins,
+ * students, quizzes (imported through {@link QuizImportService}) and
+ * historic results. Accounts are {@code admin{n}@load.local} and
+ * {@code student{n}@load.local}, all with {@link #PASSWORD}.
+ */
+final class EmbeddedBackend implements AutoCloseable {
+
+    static final String PASSWORD = "load-test-password";
+
+    private static final long SEED = 42;
+
+    private final ConfigurableApplicationContext context;
+    private final Path journalDirectory;
+
+    private EmbeddedBackend(ConfigurableApplicationContext context, Path journalDirectory) {
+        this.context = context;
+        this.journalDirectory = journalDirectory;
+    }
+
+    static EmbeddedBackend start(int port, Options options) {
+        Path journalDirectory;
+        try {
+            journalDirectory = Files.createTempDirectory("quiz-loadtest");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Passed as arguments so they take precedence over application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(QuizBackendApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(
+                        "--server.port=" + port,
+                        "--spring.threads.virtual.enabled=" + options.virtualThreads,
+                        "--quiz.rate-limit.enabled=" + options.rateLimit,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + System.nanoTime()
+                                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--jwt.secret=load-test-secret-load-test-secret-load-test-secret-0123456789",
+                        "--quiz.results.journal-path=" + journalDirectory.resolve("results.journal"),
+                        "--logging.level.root=WARN");
+
+        Random random = new Random(SEED);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        insertUsers(jdbc, options.admins, options.students, options.bcryptStrength);
+        List<Long> quizIds = importQuizzes(context.getBean(QuizImportService.class), jdbc, options.quizzes,
+                options.questions, random);
+        insertResults(jdbc, options.admins + 1, options.admins + options.students, quizIds, options.questions,
+                options.results, random);
+        // Seeded rows bypass signup and the result pipeline
+        context.getBean(StudentStatsService.class).backfill();
+        return new EmbeddedBackend(context, journalDirectory);
+    }
+
+    int getPort() {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        try (var files = Files.walk(journalDirectory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            // temporary directory; nothing to do
+        }
+    }
+
+    static String adminEmail(int n) {
+        return "admin" + n + "@load.local";
+    }
+
+    static String studentEmail(int n) {
+        return "student" + n + "@load.local";
+    }
+
+    // One bcrypt hash shared by every account keeps seeding fast; logins still pay the full cost
+    private static void insertUsers(JdbcTemplate jdbc, int admins, int students, int bcryptStrength) {
+        String hash = "{bcrypt}" + new BCryptPasswordEncoder(bcryptStrength).encode(PASSWORD);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(admins + students);
+        for (int i = 1; i <= admins; i++) {
+            rows.add(new Object[]{"Admin " + i, adminEmail(i), hash, "ADMIN", now});
+        }
+        for (int i = 1; i <= students; i++) {
+            rows.add(new Object[]{"Student " + i, studentEmail(i), hash, "STUDENT", now});
+        }
+        jdbc.batchUpdate("INSERT INTO users (name, email, password, role, created_at) VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    private static List<Long> importQuizzes(QuizImportService importService, JdbcTemplate jdbc, int quizzes,
+                                            int questions, Random random) {
+        StringBuilder ndjson = new StringBuilder();
+        for (int q = 1; q <= quizzes; q++) {
+            ndjson.append("{\"title\":\"Load test quiz ").append(q)
+                    .append("\",\"description\":\"Generated quiz number ").append(q)
+                    .append("\",\"category\":\"Category ").append(q % 10)
+                    .append("\",\"difficulty\":\"").append(q % 3 == 0 ? "Hard" : q % 3 == 1 ? "Easy" : "Medium")
+                    .append("\",\"durationMinutes\":30,\"questions\":[");
+            for (int i = 0; i < questions; i++) {
+                if (i > 0) {
+                    ndjson.append(',');
+                }
+                ndjson.append("{\"question\":\"Question ").append(i).append(" of quiz ").append(q)
+                        .append("\",\"option1\":\"Option A\",\"option2\":\"Option B\",")
+                        .append("\"option3\":\"Option C\",\"option4\":\"Option D\",\"correctAnswer\":")
+                        .append(random.nextInt(4)).append('}');
+            }
+            ndjson.append("]}\n");
+        }
+        try {
+            importService.importQuizzes(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)),
+                    "ndjson");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return jdbc.queryForList("SELECT id FROM quizzes ORDER BY id", Long.class);
+    }
+
+    private static void insertResults(JdbcTemplate jdbc, int firstStudentId, int lastStudentId, List<Long> quizIds,
+                                      int questions, int results, Random random) {
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        List<Object[]> batch = new ArrayList<>(1000);
+        for (int i = 1; i <= results; i++) {
+            int correct = random.nextInt(questions + 1);
+            batch.add(new Object[]{
+                    (long) i,
+                    (long) (firstStudentId + random.nextInt(lastStudentId - firstStudentId + 1)),
+                    quizIds.get(random.nextInt(quizIds.size())),
+                    correct * 100 / questions,
+                    questions,
+                    correct,
+                    60 + random.nextInt(1200),
+                    Timestamp.valueOf(start.plusSeconds(i * 30L))
+            });
+            if (batch.size() == 1000 || i == results) {
+                jdbc.batchUpdate("INSERT INTO results (id, user_id, quiz_id, score, total_questions, "
+                        + "correct_answers, time_taken, completed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        // The pooled optimizer hands out the 50 ids below each sequence value
+        jdbc.execute("ALTER SEQUENCE results_seq RESTART WITH " + (results + 50));
+    }
+}
@@ -0,0 +1,51 @@
+package com.quiz.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies (microseconds) and outcomes of one endpoint. Rejections are the
+ * backend shedding load (503 or 429 with Retry-After) and are counted apart
+ * from errors.
+ */
+final class EndpointStats {
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long startNanos, int status) {
+        latencies.recordValue(Math.min((System.nanoTime() - startNanos) / 1000, latencies.getHighestTrackableValue()));
+        if (status == 503 || status == 429) {
+            rejected.increment();
+        } else if (status >= 400) {
+            errors.increment();
+        }
+    }
+
+    void recordFailure() {
+        errors.increment();
+    }
+
+    void reset() {
+        latencies.reset();
+        errors.reset();
+        rejected.reset();
+    }
+
+    String getName() { return name; }
+
+    Histogram getLatencies() { return latencies; }
+
+    long getErrors() { return errors.sum(); }
+
+    long getRejected() { return rejected.sum(); }
+}
@@ -0,0 +1,365 @@
+package com.quiz.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Closed-loop load generator for the REST API. Each simulated student logs
+ * in once (all of them within the ramp window), then repeatedly lists the
+ * quizzes, opens one, starts an attempt and submits answers; admins, signed in beforehand,
+ * page through /api/results/all. Latency and throughput per endpoint are reported after
+ * the warmup period has been discarded, except for logins, which are
+ * measured from the start so that the spike itself is reported.
+ *
+ * <p>Every simulated user gets its own thread: a virtual thread on Java 21
+ * and later, a platform thread otherwise. Latencies are measured per
+ * request, so when the backend stalls, fewer requests are sent and the tail
+ * is understated; compare runs at equal throughput.
+ */
+public final class LoadTest {
+
+    private static final String LOGIN = "POST /api/auth/login";
+    private static final String LIST_QUIZZES = "GET /api/quizzes";
+    private static final String GET_QUIZ = "GET /api/quizzes/{id}";
+    private static final String START_ATTEMPT = "POST /api/quizzes/{id}/attempts";
+    private static final String SUBMIT = "POST /api/results";
+    private static final String ALL_RESULTS = "GET /api/results/all";
+
+    private final Options options;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private volatile long deadline;
+
+    private LoadTest(Options options, String baseUrl) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        for (String endpoint : List.of(LOGIN, LIST_QUIZZES, GET_QUIZ, START_ATTEMPT, SUBMIT, ALL_RESULTS)) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        if (options.target != null) {
+            new LoadTest(options, options.target).run();
+            return;
+        }
+
+        System.out.printf("Seeding %d students, %d admins, %d quizzes x %d questions, %d results%n",
+                options.students, options.admins, options.quizzes, options.questions, options.results);
+        EmbeddedBackend backend = EmbeddedBackend.start(options.port, options);
+        if (options.virtualThreads) {
+            System.out.println(Runtime.version().feature() >= 21
+                    ? "Backend handles requests on virtual threads"
+                    : "Backend handles requests on platform threads (--virtual-threads needs Java 21)");
+        }
+        String baseUrl = "http://localhost:" + backend.getPort();
+        if (options.server) {
+            Runtime.getRuntime().addShutdownHook(new Thread(backend::close));
+            System.out.println("Backend listening on " + baseUrl + "; drive it with --target=" + baseUrl
+                    + " and the same seeding options");
+            Thread.currentThread().join();
+        }
+        try {
+            new LoadTest(options, baseUrl).run();
+        } finally {
+            backend.close();
+        }
+    }
+
+    private void run() throws InterruptedException {
+        ExecutorService users = newUserExecutor();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        deadline = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+
+        // Proctors are signed in before the students arrive
+        List<String> adminTokens = new ArrayList<>();
+        for (int i = 1; i <= options.admins; i++) {
+            String token = login(EmbeddedBackend.adminEmail(i));
+            if (token != null) {
+                adminTokens.add(token);
+            }
+        }
+        CountDownLatch finished = new CountDownLatch(options.students + adminTokens.size());
+
+        long rampNanos = TimeUnit.SECONDS.toNanos(options.rampSeconds);
+        for (int i = 1; i <= options.students; i++) {
+            String email = EmbeddedBackend.studentEmail(i);
+            long startAt = start + rampNanos * (i - 1) / options.students;
+            users.execute(() -> simulate(finished, startAt, () -> student(email)));
+        }
+        for (String token : adminTokens) {
+            users.execute(() -> simulate(finished, start, () -> admin(token)));
+        }
+
+        sleepUntil(measureFrom);
+        // The login spike happens during warmup, so it is never discarded
+        stats.values().stream().filter(endpoint -> endpoint != stats.get(LOGIN)).forEach(EndpointStats::reset);
+        System.out.printf("Warmup done, measuring for %d s%n", options.durationSeconds);
+        finished.await();
+        long end = System.nanoTime();
+        users.shutdown();
+
+        report(Math.max(1, end - measureFrom), Math.max(1, end - start));
+    }
+
+    private void simulate(CountDownLatch finished, long startAt, Scenario scenario) {
+        try {
+            sleepUntil(startAt);
+            scenario.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    private void student(String email) throws InterruptedException {
+        String token = login(email);
+        if (token == null) {
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String catalogEtag = null;
+        List<Long> quizIds = new ArrayList<>();
+        while (System.nanoTime() < deadline) {
+            HttpRequest.Builder list = authorized(token, "/api/quizzes").GET();
+            if (catalogEtag != null) {
+                list.header("If-None-Match", catalogEtag);
+            }
+            HttpResponse<byte[]> catalog = send(LIST_QUIZZES, list.build());
+            if (catalog != null && catalog.statusCode() == 200) {
+                catalogEtag = catalog.headers().firstValue("ETag").orElse(null);
+                quizIds = ids(readTree(catalog.body()), "id");
+            }
+            if (quizIds.isEmpty()) {
+                pause(1000);
+                continue;
+            }
+            think(options.thinkMillis);
+
+            long quizId = quizIds.get(random.nextInt(quizIds.size()));
+            HttpResponse<byte[]> quiz = send(GET_QUIZ, authorized(token, "/api/quizzes/" + quizId)
+                    .header("Accept-Encoding", "gzip")
+                    .GET()
+                    .build());
+            if (quiz == null || quiz.statusCode() != 200) {
+                pause(retryAfter(quiz));
+                continue;
+            }
+            // Submissions go to the running attempt, which the server times
+            HttpResponse<byte[]> started = send(START_ATTEMPT, authorized(token, "/api/quizzes/" + quizId + "/attempts")
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build());
+            if (started == null || started.statusCode() != 200) {
+                pause(retryAfter(started));
+                continue;
+            }
+            think(options.thinkMillis);
+
+            Map<String, Object> attempt = new LinkedHashMap<>();
+            Map<Long, Integer> answers = new LinkedHashMap<>();
+            for (Long questionId : ids(readTree(decoded(quiz)).path("questions"), "questionId")) {
+                answers.put(questionId, random.nextInt(4));
+            }
+            attempt.put("quizId", quizId);
+            attempt.put("answers", answers);
+            HttpResponse<byte[]> submitted = send(SUBMIT, authorized(token, "/api/results")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(json(attempt)))
+                    .build());
+            if (submitted == null || submitted.statusCode() != 200) {
+                pause(retryAfter(submitted));
+            }
+            think(options.thinkMillis);
+        }
+    }
+
+    private void admin(String token) throws InterruptedException {
+        while (System.nanoTime() < deadline) {
+            HttpResponse<byte[]> page = send(ALL_RESULTS,
+                    authorized(token, "/api/results/all?size=" + options.resultPageSize).GET().build());
+            if (page == null || page.statusCode() != 200) {
+                pause(retryAfter(page));
+            }
+            think(options.adminThinkMillis);
+        }
+    }
+
+    // Retries while the backend sheds load; null once the test is over or the credentials are refused
+    private String login(String email) throws InterruptedException {
+        Map<String, String> credentials = Map.of("email", email, "password", EmbeddedBackend.PASSWORD);
+        while (System.nanoTime() < deadline) {
+            HttpResponse<byte[]> response = send(LOGIN, HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(json(credentials)))
+                    .build());
+            if (response != null && response.statusCode() == 200) {
+                return readTree(response.body()).path("token").asText();
+            }
+            if (response != null && response.statusCode() != 503 && response.statusCode() != 429) {
+                System.err.println("Login failed for " + email + ": HTTP " + response.statusCode());
+                return null;
+            }
+            pause(retryAfter(response));
+        }
+        return null;
+    }
+
+    private HttpRequest.Builder authorized(String token, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private HttpResponse<byte[]> send(String endpoint, HttpRequest request) throws InterruptedException {
+        EndpointStats endpointStats = stats.get(endpoint);
+        long startNanos = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            endpointStats.record(startNanos, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            endpointStats.recordFailure();
+            return null;
+        }
+    }
+
+    private void report(long measuredNanos, long totalNanos) {
+        System.out.printf("%nMeasured %.1f s against %s (%d students, %d admins)%n%n",
+                measuredNanos / 1e9, baseUrl, options.students, options.admins);
+        System.out.printf("%-32s %10s %10s %10s %10s %10s %10s %8s %8s%n",
+                "Endpoint", "Requests", "Req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "Errors", "Shed");
+        for (EndpointStats endpoint : stats.values()) {
+            Histogram latencies = endpoint.getLatencies();
+            double seconds = (endpoint == stats.get(LOGIN) ? totalNanos : measuredNanos) / 1e9;
+            System.out.printf("%-32s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %8d %8d%n",
+                    endpoint.getName(),
+                    latencies.getTotalCount(),
+                    latencies.getTotalCount() / seconds,
+                    latencies.getValueAtPercentile(50) / 1000.0,
+                    latencies.getValueAtPercentile(99) / 1000.0,
+                    latencies.getValueAtPercentile(99.9) / 1000.0,
+                    latencies.getMaxValue() / 1000.0,
+                    endpoint.getErrors(),
+                    endpoint.getRejected());
+        }
+    }
+
+    private JsonNode readTree(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return objectMapper.missingNode();
+        }
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Long> ids(JsonNode array, String field) {
+        List<Long> ids = new ArrayList<>(array.size());
+        for (JsonNode node : array) {
+            ids.add(node.path(field).asLong());
+        }
+        return ids;
+    }
+
+    // HttpClient leaves Content-Encoding to the caller
+    private static byte[] decoded(HttpResponse<byte[]> response) {
+        if (!response.headers().firstValue("Content-Encoding").orElse("").equalsIgnoreCase("gzip")) {
+            return response.body();
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long retryAfter(HttpResponse<?> response) {
+        if (response == null) {
+            return 1000;
+        }
+        return response.headers().firstValue("Retry-After")
+                .map(seconds -> Long.parseLong(seconds.trim()) * 1000)
+                .orElse(1000L);
+    }
+
+    private void think(long millis) throws InterruptedException {
+        if (millis > 0) {
+            pause(ThreadLocalRandom.current().nextLong(millis / 2, millis + millis / 2 + 1));
+        }
+    }
+
+    private void pause(long millis) throws InterruptedException {
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        Thread.sleep(Math.max(0, Math.min(millis, remaining)));
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    // Virtual threads when the runtime has them; the module itself targets Java 17
+    private static ExecutorService newUserExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            System.out.println("Simulating users on virtual threads");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            System.out.println("Simulating users on platform threads (virtual threads need Java 21)");
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Scenario {
+        void run() throws InterruptedException;
+    }
+}
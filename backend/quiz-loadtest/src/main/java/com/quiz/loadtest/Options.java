@@ -0,0 +1,69 @@
+package com.quiz.loadtest;
+
+/**
+ * Command line options, all given as {@code --name=value}. Without
+ * {@code --target} the backend is started in-process on an embedded
+ * database; {@code --server} only starts it, so the load can be driven from
+ * another machine with {@code --target=http://host:port}.
+ */
+final class Options {
+
+    String target;
+    boolean server;
+    int port = 0;
+    // Backend request handling on virtual threads (Java 21+)
+    boolean virtualThreads;
+    // Off by default: every simulated user shares one IP and would hit the login limit
+    boolean rateLimit;
+
+    int students = 500;
+    int admins = 5;
+    int quizzes = 20;
+    int questions = 20;
+    int results = 10_000;
+    int bcryptStrength = 10;
+
+    int warmupSeconds = 10;
+    int durationSeconds = 60;
+    // Every student logs in within this window: the exam-day spike
+    int rampSeconds = 5;
+    long thinkMillis = 0;
+    long adminThinkMillis = 1000;
+    int resultPageSize = 100;
+
+    static Options parse(String[] args) {
+        Options options = new Options();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int equals = arg.indexOf('=');
+            String name = equals < 0 ? arg.substring(2) : arg.substring(2, equals);
+            String value = equals < 0 ? "true" : arg.substring(equals + 1);
+            switch (name) {
+                case "target" -> options.target = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "server" -> options.server = Boolean.parseBoolean(value);
+                case "port" -> options.port = Integer.parseInt(value);
+                case "virtual-threads" -> options.virtualThreads = Boolean.parseBoolean(value);
+                case "rate-limit" -> options.rateLimit = Boolean.parseBoolean(value);
+                case "students" -> options.students = Integer.parseInt(value);
+                case "admins" -> options.admins = Integer.parseInt(value);
+                case "quizzes" -> options.quizzes = Integer.parseInt(value);
+                case "questions" -> options.questions = Integer.parseInt(value);
+                case "results" -> options.results = Integer.parseInt(value);
+                case "bcrypt-strength" -> options.bcryptStrength = Integer.parseInt(value);
+                case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "duration" -> options.durationSeconds = Integer.parseInt(value);
+                case "ramp" -> options.rampSeconds = Integer.parseInt(value);
+                case "think-ms" -> options.thinkMillis = Long.parseLong(value);
+                case "admin-think-ms" -> options.adminThinkMillis = Long.parseLong(value);
+                case "page-size" -> options.resultPageSize = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        if (options.students < 1 || options.quizzes < 1 || options.questions < 1 || options.admins < 0) {
+            throw new IllegalArgumentException("At least one student, quiz and question are required");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,88 @@
+package com.quiz.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Connection pools. The primary pool takes the usual spring.datasource.* and
+ * spring.datasource.hikari.* settings. When quiz.datasource.replica.url is
+ * set, a second pool is opened against the replica and read-only
+ * transactions are routed to it; without it the primary pool is the
+ * DataSource, exactly as Spring Boot would configure it.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private final Environment environment;
+    private final int prepareThreshold;
+    private final int preparedStatementCacheQueries;
+    private final boolean rewriteBatchedInserts;
+
+    public DataSourceConfig(Environment environment,
+                            @Value("${quiz.datasource.postgres.prepare-threshold:3}") int prepareThreshold,
+                            @Value("${quiz.datasource.postgres.prepared-statement-cache-queries:512}") int preparedStatementCacheQueries,
+                            @Value("${quiz.datasource.postgres.rewrite-batched-inserts:true}") boolean rewriteBatchedInserts) {
+        this.environment = environment;
+        this.prepareThreshold = prepareThreshold;
+        this.preparedStatementCacheQueries = preparedStatementCacheQueries;
+        this.rewriteBatchedInserts = rewriteBatchedInserts;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        configure(primary, "spring.datasource.hikari", "primary");
+
+        String replicaUrl = environment.getProperty("quiz.datasource.replica.url");
+        if (!StringUtils.hasText(replicaUrl)) {
+            return primary;
+        }
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(replicaUrl)
+                .username(environment.getProperty("quiz.datasource.replica.username", properties.determineUsername()))
+                .password(environment.getProperty("quiz.datasource.replica.password", properties.determinePassword()))
+                .build();
+        // Same pool settings as the primary unless overridden for the replica
+        configure(replica, "spring.datasource.hikari", "replica");
+        configure(replica, "quiz.datasource.replica.hikari", "replica");
+        replica.setReadOnly(true);
+
+        // Spring Boot only instruments pools it can unwrap from the DataSource bean
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+        return new ReplicaRoutingDataSource(primary, replica);
+    }
+
+    private void configure(HikariDataSource pool, String prefix, String poolName) {
+        Binder.get(environment).bind(prefix, Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+        if (pool.getJdbcUrl() != null && pool.getJdbcUrl().startsWith("jdbc:postgresql:")) {
+            // Server-side prepared statements after a few executions, and multi-row
+            // INSERTs for Hibernate's and the import's JDBC batches
+            pool.addDataSourceProperty("prepareThreshold", prepareThreshold);
+            pool.addDataSourceProperty("preparedStatementCacheQueries", preparedStatementCacheQueries);
+            pool.addDataSourceProperty("reWriteBatchedInserts", rewriteBatchedInserts);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.quiz.backend.config;
+
+import com.quiz.backend.security.JwtTokenProvider;
+import com.quiz.backend.security.PrincipalCache;
+import com.quiz.backend.security.RateLimitFilter;
+import com.quiz.backend.security.RateLimiter;
+import com.quiz.backend.service.AnswerKeyCache;
+import com.quiz.backend.service.AttemptService;
+import com.quiz.backend.service.AttemptStore;
+import com.quiz.backend.service.LiveSubmissionHub;
+import com.quiz.backend.service.PasswordHashingExecutor;
+import com.quiz.backend.service.QuizPayloadCache;
+import com.quiz.backend.service.QuizVersionService;
+import com.quiz.backend.service.ResultIngestionPipeline;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Application meters for the Prometheus endpoint. Request, repository,
+ * connection pool and Hibernate metrics come from Spring Boot; this adds
+ * {@code @Timed} support, the statement inspector, and gauges over the
+ * in-process queues and caches.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(SqlStatementInspector inspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    @Bean
+    public MeterBinder queueMeters(PasswordHashingExecutor passwordHashingExecutor,
+                                   ResultIngestionPipeline resultIngestionPipeline,
+                                   AttemptService attemptService,
+                                   AttemptStore attemptStore,
+                                   LiveSubmissionHub liveSubmissionHub) {
+        return registry -> {
+            Gauge.builder("quiz.password.hashing.queue", passwordHashingExecutor,
+                    PasswordHashingExecutor::getQueueDepth).register(registry);
+            Gauge.builder("quiz.password.hashing.active", passwordHashingExecutor,
+                    PasswordHashingExecutor::getActiveCount).register(registry);
+            FunctionCounter.builder("quiz.password.hashing.rejected", passwordHashingExecutor,
+                    PasswordHashingExecutor::getRejectedCount).register(registry);
+            Gauge.builder("quiz.results.pipeline.queue", resultIngestionPipeline,
+                    ResultIngestionPipeline::getQueueDepth).register(registry);
+            Gauge.builder("quiz.attempts.active", attemptService, AttemptService::getActiveCount)
+                    .register(registry);
+            Gauge.builder("quiz.attempts.dirty", attemptStore, AttemptStore::getDirtyCount).register(registry);
+            Gauge.builder("quiz.live.subscribers", liveSubmissionHub, LiveSubmissionHub::getSubscriberCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMeters(RateLimitFilter rateLimitFilter) {
+        return registry -> {
+            for (RateLimiter limiter : rateLimitFilter.getLimiters()) {
+                FunctionCounter.builder("quiz.rate.limited", limiter, RateLimiter::getRejected)
+                        .tag("limit", limiter.getName()).register(registry);
+                Gauge.builder("quiz.rate.limit.keys", limiter, RateLimiter::size)
+                        .tag("limit", limiter.getName()).register(registry);
+            }
+        };
+    }
+
+    // Standard cache.gets/cache.size names, so hit ratio is hits / (hits + misses) per cache tag
+    @Bean
+    public MeterBinder cacheMeters(AnswerKeyCache answerKeyCache,
+                                   QuizVersionService quizVersionService,
+                                   QuizPayloadCache quizPayloadCache,
+                                   PrincipalCache principalCache,
+                                   JwtTokenProvider jwtTokenProvider) {
+        return registry -> {
+            bindCache(registry, "answer-keys", answerKeyCache, AnswerKeyCache::getHits,
+                    AnswerKeyCache::getMisses, AnswerKeyCache::size);
+            bindCache(registry, "quiz-versions", quizVersionService, QuizVersionService::getHits,
+                    QuizVersionService::getMisses, QuizVersionService::size);
+            bindCache(registry, "quiz-payloads", quizPayloadCache, QuizPayloadCache::getHits,
+                    QuizPayloadCache::getMisses, QuizPayloadCache::size);
+            bindCache(registry, "principals", principalCache, PrincipalCache::getHits,
+                    PrincipalCache::getMisses, PrincipalCache::size);
+            bindCache(registry, "verified-tokens", jwtTokenProvider, JwtTokenProvider::getCacheHits,
+                    JwtTokenProvider::getCacheMisses, JwtTokenProvider::getCacheSize);
+        };
+    }
+
+    private static <T> void bindCache(MeterRegistry registry, String name, T cache, ToDoubleFunction<T> hits,
+                                      ToDoubleFunction<T> misses, ToDoubleFunction<T> size) {
+        FunctionCounter.builder("cache.gets", cache, hits).tag("cache", name).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, misses).tag("cache", name).tag("result", "miss")
+                .register(registry);
+        Gauge.builder("cache.size", cache, size).tag("cache", name).register(registry);
+    }
+}
@@ -0,0 +1,65 @@
+package com.quiz.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how many SQL statements each request prepared, per route, as
+ * {@code quiz.http.queries}. Requests above the threshold are counted in
+ * {@code quiz.http.queries.excessive} and the route is logged once, which is
+ * how N+1 selects show up. Work handed to other threads is not included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${quiz.metrics.n-plus-one-threshold:20}")
+    private int threshold;
+
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementInspector.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = SqlStatementInspector.endRequest();
+            // Route template rather than the raw path keeps the tag set bounded
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            meterRegistry.summary("quiz.http.queries", "method", request.getMethod(), "uri", uri)
+                    .record(statements);
+            if (statements > threshold) {
+                meterRegistry.counter("quiz.http.queries.excessive", "method", request.getMethod(), "uri", uri)
+                        .increment();
+                if (reported.add(request.getMethod() + " " + uri)) {
+                    log.warn("{} {} prepared {} SQL statements in one request; possible N+1 selects",
+                            request.getMethod(), uri, statements);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.quiz.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * Hands out replica connections inside read-only transactions and primary
+ * connections everywhere else. The physical connection is only fetched on
+ * the first statement: the transaction manager asks for a connection before
+ * the transaction's read-only flag is visible, so routing at that point
+ * would always pick the primary.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, HikariDataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+            }
+        };
+        router.setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+}
@@ -1,11 +1,24 @@
 package com.quiz.backend.config;
 
 import com.quiz.backend.security.JwtAuthenticationFilter;
+import com.quiz.backend.security.JwtTokenProvider;
+import com.quiz.backend.security.RateLimitFilter;
+import com.quiz.backend.security.RateLimiter;
 import com.quiz.backend.security.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManagers;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -13,12 +26,18 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.*;
 
 import java.util.List;
+import java.util.Map;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -27,16 +46,61 @@ public class SecurityConfig {
 
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final Environment environment;
+    private final int bcryptStrength;
 
     public SecurityConfig(UserDetailsServiceImpl userDetailsService,
-                          JwtAuthenticationFilter jwtAuthenticationFilter) {
+                          JwtAuthenticationFilter jwtAuthenticationFilter,
+                          JwtTokenProvider jwtTokenProvider,
+                          Environment environment,
+                          @Value("${security.password.bcrypt-strength:10}") int bcryptStrength) {
         this.userDetailsService = userDetailsService;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.environment = environment;
+        this.bcryptStrength = bcryptStrength;
     }
 
+    // New hashes are stored as {bcrypt}<hash>. Older unprefixed hashes still match
+    // and, like hashes below the configured strength, are re-encoded on the next login.
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    // Checked in order, first match wins; numbers come from quiz.rate-limit.<name>.*
+    @Bean
+    public RateLimitFilter rateLimitFilter() {
+        RateLimitFilter filter = new RateLimitFilter(jwtTokenProvider,
+                environment.getRequiredProperty("quiz.rate-limit.max-keys", Integer.class));
+        if (!environment.getRequiredProperty("quiz.rate-limit.enabled", Boolean.class)) {
+            return filter;
+        }
+        // Every call costs a full bcrypt hash; there is no user yet, so per client IP
+        limit(filter, "auth", RateLimiter.Scope.IP,
+                antMatcher(HttpMethod.POST, "/api/auth/**"));
+        limit(filter, "password", RateLimiter.Scope.USER,
+                antMatcher(HttpMethod.PUT, "/api/users/me/password"));
+        limit(filter, "submit", RateLimiter.Scope.USER,
+                antMatcher(HttpMethod.POST, "/api/results"),
+                antMatcher(HttpMethod.POST, "/api/attempts/*/submit"));
+        limit(filter, "autosave", RateLimiter.Scope.USER,
+                antMatcher(HttpMethod.PATCH, "/api/attempts/*/answers"));
+        limit(filter, "api", RateLimiter.Scope.USER,
+                antMatcher("/api/**"));
+        return filter;
+    }
+
+    private void limit(RateLimitFilter filter, String name, RateLimiter.Scope scope, RequestMatcher... matchers) {
+        String prefix = "quiz.rate-limit." + name + ".";
+        filter.limit(name, scope,
+                environment.getRequiredProperty(prefix + "per-minute", Long.class),
+                environment.getRequiredProperty(prefix + "burst", Integer.class),
+                matchers);
     }
 
     @Bean
@@ -44,6 +108,7 @@ public class SecurityConfig {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder());
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
@@ -52,6 +117,29 @@ public class SecurityConfig {
         return new ProviderManager(authenticationProvider());
     }
 
+    // Actuator: health is public and the rest needs ADMIN, except on a separate management
+    // port (MANAGEMENT_SERVER_PORT), which only the metrics scraper should be able to reach
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http,
+                                                   @Value("${management.server.port:0}") int managementPort)
+            throws Exception {
+        AuthorizationManager<RequestAuthorizationContext> managementPortOnly = (authentication, context) ->
+                new AuthorizationDecision(managementPort > 0 && context.getRequest().getLocalPort() == managementPort);
+
+        http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .anyRequest().access(AuthorizationManagers.anyOf(
+                        managementPortOnly, AuthorityAuthorizationManager.hasRole("ADMIN")))
+            );
+        http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        return http.build();
+    }
+
     @Bean
 public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
@@ -62,6 +150,9 @@ public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         )
         .authorizeHttpRequests(auth -> auth
             .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()   // 🔥 VERY IMPORTANT
+            // streamed responses finish on an async dispatch the JWT filter does not see;
+            // the request was authorized when it started
+            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
             .requestMatchers("/api/auth/**").permitAll()
             .requestMatchers("/api/quizzes/**").hasAnyRole("STUDENT", "ADMIN")
             .requestMatchers("/api/results/student").hasRole("STUDENT")
@@ -73,6 +164,7 @@ public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
     http.authenticationProvider(authenticationProvider());
     http.addFilterBefore(jwtAuthenticationFilter,
             UsernamePasswordAuthenticationFilter.class);
+    http.addFilterBefore(rateLimitFilter(), JwtAuthenticationFilter.class);
 
     return http.build();
 }
@@ -88,7 +180,7 @@ public CorsConfigurationSource corsConfigurationSource() {
     );
 
     configuration.setAllowedMethods(
-            List.of("GET", "POST", "PUT", "DELETE", "OPTIONS")
+            List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
     );
 
     configuration.setAllowedHeaders(List.of("*"));
@@ -0,0 +1,56 @@
+package com.quiz.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Moves the pooled id sequences past the ids already present in their tables.
+ * Tables created before the switch from IDENTITY columns still hold rows whose
+ * ids the freshly created sequences know nothing about.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceInitializer.class);
+
+    // sequence -> table whose ids it has to stay ahead of
+    private static final Map<String, String> SEQUENCES = new LinkedHashMap<>();
+
+    static {
+        SEQUENCES.put("results_seq", "results");
+        SEQUENCES.put("quizzes_seq", "quizzes");
+        SEQUENCES.put("questions_seq", "questions");
+        SEQUENCES.put("quiz_versions_seq", "quiz_versions");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequences() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+
+        SEQUENCES.forEach((sequence, table) -> {
+            Long value = jdbcTemplate.queryForObject(
+                    "SELECT setval('" + sequence + "', GREATEST("
+                            + "(SELECT COALESCE(MAX(id), 0) FROM " + table + "), "
+                            + "(SELECT last_value FROM " + sequence + ")))",
+                    Long.class);
+            log.debug("Sequence {} aligned to {}", sequence, value);
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package com.quiz.backend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sees every statement Hibernate prepares. Counts them for the request being
+ * served on the current thread (see {@link QueryCountFilter}) and logs a
+ * random sample of them when {@code quiz.metrics.sql-log-sample-rate} is
+ * above zero, which replaces printing every statement with show-sql.
+ */
+@Component
+public class SqlStatementInspector implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger("com.quiz.backend.sql");
+
+    // Present only while a request is being counted on this thread
+    private static final ThreadLocal<int[]> REQUEST_STATEMENTS = new ThreadLocal<>();
+
+    @Value("${quiz.metrics.sql-log-sample-rate:0}")
+    private double sampleRate;
+
+    @Override
+    public String inspect(String sql) {
+        int[] statements = REQUEST_STATEMENTS.get();
+        if (statements != null) {
+            statements[0]++;
+        }
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info(sql);
+        }
+        return sql;
+    }
+
+    static void beginRequest() {
+        REQUEST_STATEMENTS.set(new int[1]);
+    }
+
+    // Statements prepared since beginRequest
+    static int endRequest() {
+        int[] statements = REQUEST_STATEMENTS.get();
+        REQUEST_STATEMENTS.remove();
+        return statements == null ? 0 : statements[0];
+    }
+}
@@ -0,0 +1,107 @@
+package com.quiz.backend.controller;
+
+import com.quiz.backend.dto.AnalyticsResponse;
+import com.quiz.backend.dto.ChangeRoleRequest;
+import com.quiz.backend.model.User;
+import com.quiz.backend.service.AnalyticsService;
+import com.quiz.backend.service.ItemAnalysisService;
+import com.quiz.backend.service.LiveSubmissionHub;
+import com.quiz.backend.service.QuizImportService;
+import com.quiz.backend.service.StudentStatsService;
+import com.quiz.backend.service.UserService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/admin")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+    
+    @Autowired
+    private AnalyticsService analyticsService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private QuizImportService quizImportService;
+    
+    @Autowired
+    private LiveSubmissionHub liveSubmissionHub;
+    
+    @Autowired
+    private ItemAnalysisService itemAnalysisService;
+    
+    @Autowired
+    private StudentStatsService studentStatsService;
+    
+    @GetMapping("/analytics")
+    public ResponseEntity<AnalyticsResponse> getAnalytics(@RequestParam(defaultValue = "week") String range) {
+        return ResponseEntity.ok(analyticsService.getAnalytics(range));
+    }
+    
+    // Difficulty (p-value), point-biserial discrimination and option counts per question
+    @GetMapping("/quizzes/{quizId}/items")
+    public ResponseEntity<?> getItemAnalysis(@PathVariable Long quizId) {
+        try {
+            return ResponseEntity.ok(itemAnalysisService.analyze(quizId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    // Server-sent "submission" and "aggregate" events for one quiz while it is being taken
+    @GetMapping(value = "/quizzes/{quizId}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter liveSubmissions(@PathVariable Long quizId) {
+        return liveSubmissionHub.subscribe(quizId);
+    }
+    
+    // Streams the request body: JSON lines (one quiz per line) or CSV (one question per row)
+    @PostMapping("/quizzes/import")
+    public ResponseEntity<?> importQuizzes(InputStream body,
+                                           @RequestParam(required = false) String format,
+                                           @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType)
+            throws IOException {
+        String resolved = format != null ? format.toLowerCase()
+                : contentType != null && contentType.contains("csv") ? "csv" : "ndjson";
+        if (!"csv".equals(resolved) && !"ndjson".equals(resolved)) {
+            return ResponseEntity.badRequest().body("Unsupported import format. Use csv or ndjson");
+        }
+        return ResponseEntity.ok(quizImportService.importQuizzes(body, resolved));
+    }
+    
+    // ?search=&status=active|inactive&sort=name|email|joined|attempts|averageScore|lastActive&direction=asc|desc;
+    // follow nextCursor (with the same filters and sort) for the next page
+    @GetMapping("/students")
+    public ResponseEntity<?> getStudents(@RequestParam(required = false) String search,
+                                         @RequestParam(required = false) String status,
+                                         @RequestParam(required = false) String sort,
+                                         @RequestParam(required = false) String direction,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(studentStatsService.getStudents(search, status, sort, direction, cursor, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @PutMapping("/users/{id}/role")
+    public ResponseEntity<?> changeRole(@PathVariable Long id, @Valid @RequestBody ChangeRoleRequest request) {
+        try {
+            User user = userService.changeRole(id, request.getRole());
+            return ResponseEntity.ok("Role of " + user.getEmail() + " set to " + user.getRole().name());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.quiz.backend.controller;
+
+import com.quiz.backend.dto.AttemptAnswersRequest;
+import com.quiz.backend.service.AttemptService;
+import com.quiz.backend.service.SubmissionRejectedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+public class AttemptController {
+    
+    @Autowired
+    private AttemptService attemptService;
+    
+    @PostMapping("/quizzes/{quizId}/attempts")
+    public ResponseEntity<?> startAttempt(@PathVariable Long quizId) {
+        try {
+            return ResponseEntity.ok(attemptService.startAttempt(quizId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @GetMapping("/attempts/{attemptId}")
+    public ResponseEntity<?> getAttempt(@PathVariable Long attemptId) {
+        try {
+            return ResponseEntity.ok(attemptService.getAttempt(attemptId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @GetMapping("/attempts/{attemptId}/questions")
+    public ResponseEntity<?> getQuestions(@PathVariable Long attemptId) {
+        try {
+            return ResponseEntity.ok(attemptService.getQuestions(attemptId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @PatchMapping("/attempts/{attemptId}/answers")
+    public ResponseEntity<?> saveAnswers(@PathVariable Long attemptId,
+                                         @RequestBody AttemptAnswersRequest request) {
+        try {
+            return ResponseEntity.ok(attemptService.saveAnswers(attemptId, request.getAnswers()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @PostMapping("/attempts/{attemptId}/submit")
+    public ResponseEntity<?> submitAttempt(@PathVariable Long attemptId,
+                                           @RequestBody(required = false) AttemptAnswersRequest request) {
+        try {
+            return ResponseEntity.ok(attemptService.submitAttempt(attemptId,
+                    request == null ? null : request.getAnswers()));
+        } catch (SubmissionRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
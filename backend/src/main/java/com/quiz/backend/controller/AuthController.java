@@ -4,8 +4,11 @@ import com.quiz.backend.dto.JwtResponse;
 import com.quiz.backend.dto.LoginRequest;
 import com.quiz.backend.dto.SignupRequest;
 import com.quiz.backend.service.AuthService;
+import com.quiz.backend.service.PasswordHashingBusyException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,6 +24,8 @@ public class AuthController {
         try {
             String message = authService.signup(signupRequest);
             return ResponseEntity.ok(message);
+        } catch (PasswordHashingBusyException e) {
+            return busy(e);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -31,8 +36,16 @@ public class AuthController {
         try {
             JwtResponse jwtResponse = authService.login(loginRequest);
             return ResponseEntity.ok(jwtResponse);
+        } catch (PasswordHashingBusyException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Invalid email or password");
         }
     }
+    
+    private ResponseEntity<?> busy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
 }
@@ -1,29 +1,83 @@
 package com.quiz.backend.controller;
 
+import com.quiz.backend.dto.LeaderboardResponse;
+import com.quiz.backend.dto.QuizSummary;
 import com.quiz.backend.model.Quiz;
+import com.quiz.backend.security.UserPrincipal;
+import com.quiz.backend.service.LeaderboardService;
+import com.quiz.backend.service.QuizCatalog;
+import com.quiz.backend.service.QuizPayloadCache;
 import com.quiz.backend.service.QuizService;
+import com.quiz.backend.service.QuizSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/quizzes")
 public class QuizController {
     
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    
     @Autowired
     private QuizService quizService;
     
+    @Autowired
+    private LeaderboardService leaderboardService;
+    
+    // Served from the pre-serialized catalog snapshot; unchanged catalogs answer 304
     @GetMapping
-    public ResponseEntity<List<Quiz>> getAllQuizzes() {
-        return ResponseEntity.ok(quizService.getActiveQuizzes());
+    public ResponseEntity<byte[]> getAllQuizzes(WebRequest request) {
+        QuizCatalog.Snapshot catalog = quizService.getCatalog();
+        if (request.checkNotModified(catalog.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(catalog.getEtag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(catalog.getJson());
     }
     
+    // Admins get the editable quiz with its answers. Students get the published form of the
+    // current version without them, pre-serialized as JSON or CBOR (Accept) and pre-gzipped
+    // (Accept-Encoding); a matching If-None-Match answers 304.
     @GetMapping("/{id}")
-    public ResponseEntity<Quiz> getQuizById(@PathVariable Long id) {
-        return ResponseEntity.ok(quizService.getQuizById(id));
+    public ResponseEntity<?> getQuizById(@PathVariable Long id,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                         Authentication authentication) {
+        if (isAdmin(authentication)) {
+            return ResponseEntity.ok(quizService.getQuizById(id));
+        }
+        try {
+            boolean cbor = accepts(accept, CBOR);
+            boolean gzip = acceptsGzip(acceptEncoding);
+            QuizPayloadCache.Body body = quizService.getQuizPayload(id)
+                    .get(cbor ? QuizPayloadCache.Format.CBOR : QuizPayloadCache.Format.JSON, gzip);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .eTag(body.getEtag())
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .contentType(cbor ? CBOR : MediaType.APPLICATION_JSON);
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(body.getBytes());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
     
     @PostMapping
@@ -41,17 +95,87 @@ public class QuizController {
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> deleteQuiz(@PathVariable Long id) {
-        quizService.deleteQuiz(id);
-        return ResponseEntity.ok("Quiz deleted successfully");
+        if (quizService.deleteQuiz(id)) {
+            return ResponseEntity.ok("Quiz deleted successfully");
+        }
+        return ResponseEntity.ok("Quiz has results, so it was deactivated instead of deleted");
+    }
+    
+    // Published versions never change; admins only, as snapshots include the answer key
+    @GetMapping("/{id}/versions/{versionId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getQuizVersion(@PathVariable Long id, @PathVariable Long versionId) {
+        try {
+            QuizSnapshot snapshot = quizService.getQuizVersion(versionId);
+            if (!snapshot.getQuizId().equals(id)) {
+                return ResponseEntity.badRequest().body("Quiz version not found with id: " + versionId);
+            }
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+                    .body(snapshot);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @GetMapping("/{id}/leaderboard")
+    public ResponseEntity<LeaderboardResponse> getLeaderboard(@PathVariable Long id,
+                                                              @RequestParam(required = false) Integer limit,
+                                                              @AuthenticationPrincipal UserPrincipal principal) {
+        Long userId = principal == null ? null : principal.getId();
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(id, userId, limit));
+    }
+    
+    // Students only ever see active quizzes; admins may pass active=false or omit it for both
+    @GetMapping("/search")
+    public ResponseEntity<List<QuizSummary>> searchQuizzes(@RequestParam(required = false) String category,
+                                                           @RequestParam(required = false) String difficulty,
+                                                           @RequestParam(required = false) String q,
+                                                           @RequestParam(required = false) Boolean active,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           Authentication authentication) {
+        Boolean activeFilter = isAdmin(authentication) ? active : Boolean.TRUE;
+        return ResponseEntity.ok(quizService.searchQuizzes(category, difficulty, q, activeFilter, limit));
     }
     
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Quiz>> getQuizzesByCategory(@PathVariable String category) {
-        return ResponseEntity.ok(quizService.getQuizzesByCategory(category));
+    public ResponseEntity<List<QuizSummary>> getQuizzesByCategory(@PathVariable String category) {
+        return ResponseEntity.ok(quizService.searchQuizzes(category, null, null, true, null));
     }
     
     @GetMapping("/difficulty/{difficulty}")
-    public ResponseEntity<List<Quiz>> getQuizzesByDifficulty(@PathVariable String difficulty) {
-        return ResponseEntity.ok(quizService.getQuizzesByDifficulty(difficulty));
+    public ResponseEntity<List<QuizSummary>> getQuizzesByDifficulty(@PathVariable String difficulty) {
+        return ResponseEntity.ok(quizService.searchQuizzes(null, difficulty, null, true, null));
+    }
+    
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+    
+    private static boolean accepts(String accept, MediaType type) {
+        if (accept == null) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(candidate -> type.equalsTypeAndSubtype(candidate) && candidate.getQualityValue() > 0);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+    
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 }
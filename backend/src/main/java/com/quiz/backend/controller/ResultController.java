@@ -1,13 +1,25 @@
 package com.quiz.backend.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quiz.backend.dto.QuizAttemptRequest;
+import com.quiz.backend.dto.ResultPage;
+import com.quiz.backend.dto.ResultResponse;
 import com.quiz.backend.model.Result;
+import com.quiz.backend.service.AttemptService;
 import com.quiz.backend.service.ResultService;
+import com.quiz.backend.service.SubmissionRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -17,11 +29,27 @@ public class ResultController {
     @Autowired
     private ResultService resultService;
     
+    @Autowired
+    private AttemptService attemptService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @PostMapping
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<Result> submitQuizAttempt(@RequestBody QuizAttemptRequest attemptRequest) {
-    return ResponseEntity.ok(resultService.submitQuizAttempt(attemptRequest));
-}
+    public ResponseEntity<?> submitQuizAttempt(@RequestBody QuizAttemptRequest attemptRequest) {
+        try {
+            ResultResponse response = attemptService.submitActiveAttempt(attemptRequest.getQuizId(),
+                    attemptRequest.getAnswers());
+            return ResponseEntity.ok(response);
+        } catch (SubmissionRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 
     
     @GetMapping("/student")
@@ -30,15 +58,57 @@ public class ResultController {
         return ResponseEntity.ok(resultService.getStudentResults());
     }
     
+    // ?cursor=/?size= return one keyset page, Accept: application/x-ndjson streams one row
+    // per line, anything else streams the whole list as a JSON array
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Result>> getAllResults() {
-        return ResponseEntity.ok(resultService.getAllResults());
+    public ResponseEntity<StreamingResponseBody> getAllResults(@RequestParam(required = false) Long cursor,
+                                           @RequestParam(required = false) Integer size,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return results(null, cursor, size, accept);
     }
     
     @GetMapping("/quiz/{quizId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Result>> getResultsByQuizId(@PathVariable Long quizId) {
-        return ResponseEntity.ok(resultService.getResultsByQuizId(quizId));
+    public ResponseEntity<StreamingResponseBody> getResultsByQuizId(@PathVariable Long quizId,
+                                                @RequestParam(required = false) Long cursor,
+                                                @RequestParam(required = false) Integer size,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return results(quizId, cursor, size, accept);
+    }
+    
+    private ResponseEntity<StreamingResponseBody> results(Long quizId, Long cursor, Integer size, String accept) {
+        if (cursor != null || size != null) {
+            ResultPage page = resultService.getResultPage(quizId, cursor, size);
+            StreamingResponseBody body = out -> objectMapper.writeValue(out, page);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+        
+        if (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+            StreamingResponseBody body = out -> resultService.streamResults(quizId, row -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(row));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+        }
+        
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                resultService.streamResults(quizId, row -> {
+                    try {
+                        generator.writeObject(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 }
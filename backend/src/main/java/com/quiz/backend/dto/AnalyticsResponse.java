@@ -0,0 +1,76 @@
+package com.quiz.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AnalyticsResponse {
+    private String range;
+    private Overview overview;
+    private List<QuizPerformance> quizPerformance;
+    private List<CategoryBreakdown> categoryBreakdown;
+    private List<TrendPoint> weeklyTrend;
+    private List<Activity> recentActivity;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Overview {
+        private long totalQuizzes;
+        private long totalAttempts;
+        private long totalStudents;
+        private int averageScore;
+        private int passRate;
+        private long activeUsers;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class QuizPerformance {
+        private Long quizId;
+        private String name;
+        private long attempts;
+        private int avgScore;
+        private int passRate;
+        private long[] histogram; // attempts per 10-point score band, 0-9 .. 90-100
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CategoryBreakdown {
+        private String category;
+        private int quizzes;
+        private long attempts;
+        private int avgScore;
+        private long[] histogram;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class TrendPoint {
+        private String day;
+        private LocalDate date;
+        private long attempts;
+        private int avgScore;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Activity {
+        private String student;
+        private String quiz;
+        private int score;
+        private LocalDateTime date;
+    }
+}
@@ -0,0 +1,10 @@
+package com.quiz.backend.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class AttemptAnswersRequest {
+    private Map<Long, Integer> answers; // questionId -> selectedAnswer (0-3)
+}
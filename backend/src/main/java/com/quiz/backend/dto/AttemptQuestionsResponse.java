@@ -0,0 +1,30 @@
+package com.quiz.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The questions of one attempt in the order they are shown, with options
+ * already shuffled. Answers are submitted as positions in these option lists.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AttemptQuestionsResponse {
+    private Long attemptId;
+    private Long quizId;
+    private String quizTitle;
+    private List<Item> questions;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Item {
+        private Long questionId;
+        private String question;
+        private List<String> options;
+    }
+}
@@ -0,0 +1,27 @@
+package com.quiz.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A timed attempt as started by the server. Clients count down from
+ * remainingSeconds; the server expires the attempt on its own clock.
+ * answers holds the autosaved state so a reloaded page can restore it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AttemptResponse {
+    private Long attemptId;
+    private Long quizId;
+    private String status;
+    private LocalDateTime startedAt;
+    private LocalDateTime expiresAt;
+    private long remainingSeconds;
+    private int questionCount;
+    private Map<Long, Integer> answers;
+}
@@ -0,0 +1,11 @@
+package com.quiz.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class ChangeRoleRequest {
+
+    @NotBlank(message = "Role is required")
+    private String role; // STUDENT or ADMIN
+}
@@ -0,0 +1,34 @@
+package com.quiz.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk quiz import. Only the first errors are listed;
+ * errorsTruncated tells whether more were dropped.
+ */
+@Data
+@NoArgsConstructor
+public class ImportReport {
+    private String format;
+    private int quizzesImported;
+    private int questionsImported;
+    private int quizzesRejected;
+    private int chunksCommitted;
+    private int chunksFailed;
+    private long elapsedMs;
+    private List<ImportError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ImportError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,43 @@
+package com.quiz.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Classical item analysis of a quiz. attempts counts the results analysed;
+ * skipped counts results recorded before responses were kept or against an
+ * earlier set of questions.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemAnalysisResponse {
+    private Long quizId;
+    private String quizTitle;
+    private long attempts;
+    private long skipped;
+    private double meanCorrect;
+    private List<Item> items;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Item {
+        private Long questionId;
+        private int correctOption;
+        // Attempts the question was drawn for
+        private long presented;
+        // Share of attempts answering correctly (difficulty index)
+        @JsonProperty("pValue")
+        private Double pValue;
+        // Point-biserial correlation between this item and the total score
+        private Double discrimination;
+        // Times each option (0-3) was chosen
+        private long[] optionCounts;
+        private long unanswered;
+    }
+}
@@ -0,0 +1,44 @@
+package com.quiz.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Best attempt per student on one quiz, ranked by score then time taken.
+ * {@code me} is the caller's own standing, or null if they have no attempt.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardResponse {
+    private Long quizId;
+    private int participants;
+    private List<Entry> top;
+    private Standing me;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Entry {
+        private int rank;
+        private Long userId;
+        private String userName;
+        private int score;
+        private Integer timeTaken;
+        private LocalDateTime completedAt;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Standing {
+        private int rank;
+        private double percentile; // share of participants ranked at or below the caller
+        private int score;
+        private Integer timeTaken;
+    }
+}
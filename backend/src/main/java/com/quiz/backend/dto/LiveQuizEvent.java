@@ -0,0 +1,40 @@
+package com.quiz.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payloads of the live quiz stream: one {@code submission} event per
+ * accepted attempt and an {@code aggregate} event with the quiz's running
+ * totals. {@code dropped} counts submissions this subscriber missed because it
+ * fell behind.
+ */
+public class LiveQuizEvent {
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Submission {
+        private Long quizId;
+        private Long userId;
+        private String userName;
+        private int score;
+        private Integer timeTaken;
+        private LocalDateTime completedAt;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Aggregate {
+        private Long quizId;
+        private long attempts;
+        private int averageScore;
+        private int passRate;
+        private long[] histogram;
+        private long dropped;
+    }
+}
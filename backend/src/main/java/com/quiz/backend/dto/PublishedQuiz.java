@@ -0,0 +1,36 @@
+package com.quiz.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Student-facing form of a published quiz version: questions in answer-key
+ * order with the options that are present, and no correct answers. Empty
+ * for quizzes that draw questionsPerAttempt questions per attempt.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PublishedQuiz {
+    private Long id;
+    private Long versionId;
+    private String title;
+    private String description;
+    private String category;
+    private String difficulty;
+    private Integer durationMinutes;
+    private Integer questionsPerAttempt;
+    private List<Item> questions;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Item {
+        private Long questionId;
+        private String question;
+        private List<String> options;
+    }
+}
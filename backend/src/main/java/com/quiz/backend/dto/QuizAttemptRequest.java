@@ -7,8 +7,9 @@ import java.util.Map;
 @Data
 public class QuizAttemptRequest {
     private Long quizId;
-    private Map<Long, Integer> answers; // questionId -> selectedAnswer (0-3)
-    private Integer timeTaken; // in seconds
+    // questionId -> selected position (0-3) as shown in the running attempt;
+    // time taken is measured by the server
+    private Map<Long, Integer> answers;
 
     public Long getQuizId() {
         return quizId;
@@ -25,12 +26,4 @@ public class QuizAttemptRequest {
     public void setAnswers(Map<Long, Integer> answers) {
         this.answers = answers;
     }
-
-    public Integer getTimeTaken() {
-        return timeTaken;
-    }
-
-    public void setTimeTaken(Integer timeTaken) {
-        this.timeTaken = timeTaken;
-    }
 }
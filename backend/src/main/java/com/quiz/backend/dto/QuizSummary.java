@@ -0,0 +1,22 @@
+package com.quiz.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Catalog view of a quiz: what the quiz list shows, without questions or
+ * answers.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuizSummary {
+    private Long id;
+    private String title;
+    private String description;
+    private String category;
+    private String difficulty;
+    private Integer durationMinutes;
+    private Long questionCount;
+}
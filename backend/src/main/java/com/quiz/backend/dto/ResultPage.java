@@ -0,0 +1,15 @@
+package com.quiz.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultPage {
+    private List<ResultSummary> items;
+    private Long nextCursor; // pass back as ?cursor= for the next page, null on the last page
+}
@@ -0,0 +1,21 @@
+package com.quiz.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultResponse {
+    private Long id;
+    private Long quizId;
+    private String quizTitle;
+    private Integer score;
+    private Integer totalQuestions;
+    private Integer correctAnswers;
+    private Integer timeTaken;
+    private LocalDateTime completedAt;
+}
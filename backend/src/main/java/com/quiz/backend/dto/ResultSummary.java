@@ -0,0 +1,28 @@
+package com.quiz.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of a result row for the admin views, without the user and
+ * quiz entity graphs.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultSummary {
+    private Long id;
+    private Long userId;
+    private String userName;
+    private String userEmail;
+    private Long quizId;
+    private String quizTitle;
+    private Integer score;
+    private Integer totalQuestions;
+    private Integer correctAnswers;
+    private Integer timeTaken;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,17 @@
+package com.quiz.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentPage {
+    private List<StudentSummary> items;
+    private String nextCursor; // pass back as ?cursor= with the same sort, null on the last page
+    private Long total; // students matching the filters, on the first page only, at most 1000
+    private boolean totalExact; // false when there are more matches than total
+}
@@ -0,0 +1,21 @@
+package com.quiz.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentSummary {
+    private Long id;
+    private String name;
+    private String email;
+    private LocalDateTime joinedAt;
+    private String status; // "active" if seen within quiz.students.active-days, else "inactive"
+    private Integer quizzesAttempted;
+    private Double averageScore; // null before the first attempt
+    private LocalDateTime lastActive;
+}
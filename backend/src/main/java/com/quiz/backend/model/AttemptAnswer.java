@@ -0,0 +1,68 @@
+package com.quiz.backend.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Autosaved answer of one question in a timed attempt: one narrow row per
+ * (attempt, question). Written in batches by the attempt store's flusher.
+ */
+@Entity
+@Table(name = "attempt_answers")
+@IdClass(AttemptAnswer.Key.class)
+public class AttemptAnswer {
+
+    @Id
+    @Column(name = "attempt_id")
+    private Long attemptId;
+
+    @Id
+    @Column(name = "question_id")
+    private Long questionId;
+
+    // PostgreSQL has no single-byte integer; smallint is the narrowest column
+    @Column(columnDefinition = "smallint")
+    private Byte answer;
+
+    // ===== GETTERS & SETTERS =====
+
+    public Long getAttemptId() { return attemptId; }
+
+    public void setAttemptId(Long attemptId) { this.attemptId = attemptId; }
+
+    public Long getQuestionId() { return questionId; }
+
+    public void setQuestionId(Long questionId) { this.questionId = questionId; }
+
+    public Byte getAnswer() { return answer; }
+
+    public void setAnswer(Byte answer) { this.answer = answer; }
+
+    public static class Key implements Serializable {
+
+        private Long attemptId;
+        private Long questionId;
+
+        public Key() {
+        }
+
+        public Key(Long attemptId, Long questionId) {
+            this.attemptId = attemptId;
+            this.questionId = questionId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(attemptId, key.attemptId) && Objects.equals(questionId, key.questionId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(attemptId, questionId);
+        }
+    }
+}
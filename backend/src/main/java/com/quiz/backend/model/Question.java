@@ -7,8 +7,10 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 @Table(name = "questions")
 public class Question {
 
+    // Pooled sequence ids let Hibernate batch bulk imports
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "questions_seq")
+    @SequenceGenerator(name = "questions_seq", sequenceName = "questions_seq", allocationSize = 50)
     private Long id;
 
     @Column(columnDefinition = "TEXT")
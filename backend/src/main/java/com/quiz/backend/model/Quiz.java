@@ -2,16 +2,22 @@ package com.quiz.backend.model;
 
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "quizzes")
+@Table(name = "quizzes", indexes = {
+        @Index(name = "idx_quizzes_active_category", columnList = "is_active, category"),
+        @Index(name = "idx_quizzes_active_difficulty", columnList = "is_active, difficulty")
+})
 public class Quiz {
 
+    // Pooled sequence ids let Hibernate batch bulk imports
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quizzes_seq")
+    @SequenceGenerator(name = "quizzes_seq", sequenceName = "quizzes_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -21,6 +27,13 @@ public class Quiz {
     private Integer durationMinutes;
     private Boolean isActive = true;
 
+    // Timed attempts draw this many questions at random from the pool; null or 0 = all
+    private Integer questionsPerAttempt;
+
+    // Latest published QuizVersion; attempts and results use versions, never this row
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long currentVersionId;
+
     @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private List<Question> questions = new ArrayList<>();
@@ -103,6 +116,22 @@ public class Quiz {
         this.isActive = isActive;
     }
 
+    public Integer getQuestionsPerAttempt() {
+        return questionsPerAttempt;
+    }
+
+    public void setQuestionsPerAttempt(Integer questionsPerAttempt) {
+        this.questionsPerAttempt = questionsPerAttempt;
+    }
+
+    public Long getCurrentVersionId() {
+        return currentVersionId;
+    }
+
+    public void setCurrentVersionId(Long currentVersionId) {
+        this.currentVersionId = currentVersionId;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,60 @@
+package com.quiz.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Published, immutable state of a quiz: its settings, questions and answer
+ * key, encoded by {@code QuizSnapshot}. Rows are only ever inserted. quizId is
+ * a plain column so versions, and the results pointing at them, outlive the
+ * quiz itself.
+ */
+@Entity
+@Table(name = "quiz_versions", indexes = {
+        @Index(name = "idx_quiz_versions_quiz_id", columnList = "quiz_id, version_number")
+})
+public class QuizVersion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quiz_versions_seq")
+    @SequenceGenerator(name = "quiz_versions_seq", sequenceName = "quiz_versions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "quiz_id", nullable = false, updatable = false)
+    private Long quizId;
+
+    @Column(name = "version_number", nullable = false, updatable = false)
+    private Integer versionNumber;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "bytea")
+    private byte[] snapshot;
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    protected QuizVersion() {
+    }
+
+    public QuizVersion(Long quizId, Integer versionNumber, byte[] snapshot) {
+        this.quizId = quizId;
+        this.versionNumber = versionNumber;
+        this.snapshot = snapshot;
+    }
+
+    @PrePersist
+    public void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // ===== GETTERS =====
+
+    public Long getId() { return id; }
+
+    public Long getQuizId() { return quizId; }
+
+    public Integer getVersionNumber() { return versionNumber; }
+
+    public byte[] getSnapshot() { return snapshot; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
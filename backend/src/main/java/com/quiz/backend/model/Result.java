@@ -1,14 +1,22 @@
 package com.quiz.backend.model;
 
 import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "results")
+@Table(name = "results", indexes = {
+        @Index(name = "idx_results_quiz_id", columnList = "quiz_id, id"),
+        @Index(name = "idx_results_user_id", columnList = "user_id, completed_at"),
+        @Index(name = "idx_results_submission_id", columnList = "submission_id", unique = true),
+        @Index(name = "idx_results_attempt_id", columnList = "attempt_id", unique = true)
+})
 public class Result {
 
+    // Pooled sequence ids let Hibernate batch the write-behind inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "results_seq")
+    @SequenceGenerator(name = "results_seq", sequenceName = "results_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -17,15 +25,38 @@ public class Result {
     @ManyToOne
     private Quiz quiz;
 
+    // Journaled submission this row was written from; null for rows older than the key
+    @JsonIgnore
+    @Column(name = "submission_id")
+    private Long submissionId;
+
+    // Attempt session the result was submitted from; null for older rows
+    @JsonIgnore
+    @Column(name = "attempt_id")
+    private Long attemptId;
+
+    // Published version the attempt was scored against
+    @Column(name = "quiz_version_id")
+    private Long quizVersionId;
+
     private Integer score;
     private Integer totalQuestions;
     private Integer correctAnswers;
     private Integer timeTaken;
     private LocalDateTime completedAt;
 
+    // Chosen option per question in answer-key order (-1 = unanswered), for item analysis
+    @Column(length = 4096)
+    private byte[] responses;
+
+    // AnswerKey layout the responses were recorded against
+    private Integer responseLayout;
+
     @PrePersist
     public void onCreate() {
-        completedAt = LocalDateTime.now();
+        if (completedAt == null) {
+            completedAt = LocalDateTime.now();
+        }
     }
 
     // ===== GETTERS & SETTERS =====
@@ -81,4 +112,26 @@ public class Result {
     public void setCorrectAnswers(Integer correctAnswers) { this.correctAnswers = correctAnswers; }
 
     public void setTimeTaken(Integer timeTaken) { this.timeTaken = timeTaken; }
+
+    public Long getSubmissionId() { return submissionId; }
+
+    public void setSubmissionId(Long submissionId) { this.submissionId = submissionId; }
+
+    public Long getAttemptId() { return attemptId; }
+
+    public void setAttemptId(Long attemptId) { this.attemptId = attemptId; }
+
+    public Long getQuizVersionId() { return quizVersionId; }
+
+    public void setQuizVersionId(Long quizVersionId) { this.quizVersionId = quizVersionId; }
+
+    @JsonIgnore
+    public byte[] getResponses() { return responses; }
+
+    public void setResponses(byte[] responses) { this.responses = responses; }
+
+    @JsonIgnore
+    public Integer getResponseLayout() { return responseLayout; }
+
+    public void setResponseLayout(Integer responseLayout) { this.responseLayout = responseLayout; }
 }
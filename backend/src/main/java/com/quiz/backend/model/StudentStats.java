@@ -0,0 +1,60 @@
+package com.quiz.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of one user's results, kept next to the users table so the
+ * student directory can sort and page on them without aggregating results.
+ * Written with plain SQL by {@code StudentStatsService}: created at signup
+ * (or by the startup backfill) and incremented with each persisted batch.
+ */
+@Entity
+@Table(name = "student_stats", indexes = {
+        @Index(name = "idx_student_stats_average", columnList = "average_score, user_id"),
+        @Index(name = "idx_student_stats_attempts", columnList = "attempts, user_id"),
+        @Index(name = "idx_student_stats_last_active", columnList = "last_active_at, user_id")
+})
+public class StudentStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "score_sum", nullable = false)
+    private long scoreSum;
+
+    // score_sum / attempts, stored so it can be indexed; 0 without attempts
+    @Column(name = "average_score", nullable = false)
+    private double averageScore;
+
+    // Latest submission, or the signup time before the first one
+    @Column(name = "last_active_at", nullable = false)
+    private LocalDateTime lastActiveAt;
+
+    // ===== GETTERS & SETTERS =====
+
+    public Long getUserId() { return userId; }
+
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public int getAttempts() { return attempts; }
+
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public long getScoreSum() { return scoreSum; }
+
+    public void setScoreSum(long scoreSum) { this.scoreSum = scoreSum; }
+
+    public double getAverageScore() { return averageScore; }
+
+    public void setAverageScore(double averageScore) { this.averageScore = averageScore; }
+
+    public LocalDateTime getLastActiveAt() { return lastActiveAt; }
+
+    public void setLastActiveAt(LocalDateTime lastActiveAt) { this.lastActiveAt = lastActiveAt; }
+}
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_role_name", columnList = "role, name, id")
+})
 public class User {
 
     @Id
@@ -23,6 +25,9 @@ public class User {
 
     private LocalDateTime createdAt;
 
+    // Last password or role change; tokens issued before it are rejected
+    private LocalDateTime credentialsChangedAt;
+
     public enum Role {
         STUDENT, ADMIN
     }
@@ -63,4 +68,10 @@ public class User {
     public Role getRole() { return role; }
 
     public void setRole(Role role) { this.role = role; }
+
+    public LocalDateTime getCredentialsChangedAt() { return credentialsChangedAt; }
+
+    public void setCredentialsChangedAt(LocalDateTime credentialsChangedAt) {
+        this.credentialsChangedAt = credentialsChangedAt;
+    }
 }
@@ -1,14 +1,48 @@
 package com.quiz.backend.repository;
 
+import com.quiz.backend.dto.QuizSummary;
 import com.quiz.backend.model.Quiz;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
-    List<Quiz> findByIsActiveTrue();
-    List<Quiz> findByCategory(String category);
-    List<Quiz> findByDifficulty(String difficulty);
+    @Query("select new com.quiz.backend.dto.QuizSummary(q.id, q.title, q.description, q.category, " +
+           "q.difficulty, q.durationMinutes, count(qs)) from Quiz q left join q.questions qs " +
+           "where q.isActive = true " +
+           "group by q.id, q.title, q.description, q.category, q.difficulty, q.durationMinutes " +
+           "order by q.id")
+    List<QuizSummary> findActiveSummaries();
+    
+    String SEARCH_SELECT = "select q.id, q.title, q.description, q.category, q.difficulty, " +
+            "q.durationMinutes, q.isActive, count(qs) from Quiz q left join q.questions qs ";
+    String SEARCH_GROUP = " group by q.id, q.title, q.description, q.category, q.difficulty, " +
+            "q.durationMinutes, q.isActive";
+    
+    // Rows for QuizSearchIndex: id, title, description, category, difficulty, duration, active, question count
+    @Query(SEARCH_SELECT + SEARCH_GROUP)
+    List<Object[]> findSearchRows();
+    
+    @Query(SEARCH_SELECT + "where q.id = :id" + SEARCH_GROUP)
+    List<Object[]> findSearchRow(@Param("id") Long id);
+    
+    // Fallback while the search index is loading; served by idx_quizzes_active_category / _difficulty
+    @Query("select new com.quiz.backend.dto.QuizSummary(q.id, q.title, q.description, q.category, " +
+           "q.difficulty, q.durationMinutes, count(qs)) from Quiz q left join q.questions qs " +
+           "where (:active is null or q.isActive = :active) " +
+           "and (:category is null or q.category = :category) " +
+           "and (:difficulty is null or q.difficulty = :difficulty) " +
+           "and (:pattern is null or lower(q.title) like :pattern or lower(q.description) like :pattern) " +
+           "group by q.id, q.title, q.description, q.category, q.difficulty, q.durationMinutes " +
+           "order by q.id")
+    List<QuizSummary> searchSummaries(@Param("category") String category,
+                                      @Param("difficulty") String difficulty,
+                                      @Param("active") Boolean active,
+                                      @Param("pattern") String pattern,
+                                      Pageable pageable);
 }
@@ -0,0 +1,14 @@
+package com.quiz.backend.repository;
+
+import com.quiz.backend.model.QuizVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuizVersionRepository extends JpaRepository<QuizVersion, Long> {
+
+    @Query("select coalesce(max(v.versionNumber), 0) from QuizVersion v where v.quizId = :quizId")
+    int findLatestVersionNumber(@Param("quizId") Long quizId);
+}
@@ -1,14 +1,60 @@
 package com.quiz.backend.repository;
 
+import com.quiz.backend.dto.ResultSummary;
 import com.quiz.backend.model.Result;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ResultRepository extends JpaRepository<Result, Long> {
+
+    String SUMMARY_SELECT = "select new com.quiz.backend.dto.ResultSummary("
+            + "r.id, u.id, u.name, u.email, q.id, q.title, r.score, r.totalQuestions, "
+            + "r.correctAnswers, r.timeTaken, r.completedAt) "
+            + "from Result r join r.user u join r.quiz q ";
+
     List<Result> findByUserId(Long userId);
     List<Result> findByQuizId(Long quizId);
+    long countByQuizId(Long quizId);
+    boolean existsByQuizId(Long quizId);
     List<Result> findByUserIdOrderByCompletedAtDesc(Long userId);
+
+    // Keyset pages, newest first: pass the last id of the previous page as the cursor
+    @Query(SUMMARY_SELECT + "where r.id < :cursor order by r.id desc")
+    List<ResultSummary> findSummariesBefore(@Param("cursor") Long cursor, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where q.id = :quizId and r.id < :cursor order by r.id desc")
+    List<ResultSummary> findSummariesByQuizIdBefore(@Param("quizId") Long quizId,
+                                                    @Param("cursor") Long cursor,
+                                                    Pageable pageable);
+
+    // Streams must be consumed inside a transaction so the driver honours the fetch size
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + "order by r.id desc")
+    Stream<ResultSummary> streamSummaries();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + "where q.id = :quizId order by r.id desc")
+    Stream<ResultSummary> streamSummariesByQuizId(@Param("quizId") Long quizId);
+
+    // [userId, userName, quizId, quizTitle, category, score, timeTaken, completedAt]
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.id, u.name, q.id, q.title, q.category, r.score, r.timeTaken, r.completedAt "
+            + "from Result r join r.user u join r.quiz q where r.completedAt < :cutoff")
+    Stream<Object[]> streamHistory(@Param("cutoff") LocalDateTime cutoff);
+
+    // Recorded answers of every attempt made against the given answer-key layout
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select r.responses from Result r where r.quiz.id = :quizId and r.responseLayout = :layout")
+    Stream<byte[]> streamResponses(@Param("quizId") Long quizId, @Param("layout") Integer layout);
 }
@@ -1,5 +1,8 @@
 package com.quiz.backend.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,13 +10,13 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -23,6 +26,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Token handling only; the rest of the chain is in http.server.requests
+    private Timer authenticatedTimer;
+    private Timer anonymousTimer;
+    
+    @PostConstruct
+    void registerTimers() {
+        authenticatedTimer = filterTimer("authenticated");
+        anonymousTimer = filterTimer("anonymous");
+    }
+    
+    private Timer filterTimer(String outcome) {
+        return Timer.builder("quiz.jwt.filter")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
     
     @Override
 protected void doFilterInternal(HttpServletRequest request,
@@ -38,16 +64,23 @@ protected void doFilterInternal(HttpServletRequest request,
         return;
     }
 
+    long start = System.nanoTime();
+    boolean authenticated = false;
     try {
-        String jwt = getJwtFromRequest(request);
-
-        if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-            String username = jwtTokenProvider.getUsernameFromToken(jwt);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        // Already verified when a per-user rate limit applied
+        VerifiedToken token = (VerifiedToken) request.getAttribute(RateLimitFilter.VERIFIED_TOKEN_ATTRIBUTE);
+        if (token == null) {
+            String jwt = getJwtFromRequest(request);
+            token = StringUtils.hasText(jwt) ? jwtTokenProvider.verify(jwt) : null;
+        }
 
+        // Role and revocation come from the cached user, never from the token's claims
+        UserPrincipal principal = token == null ? null : principalCache.get(token.getSubject(),
+                email -> (UserPrincipal) userDetailsService.loadUserByUsername(email));
+        if (principal != null && !PrincipalCache.isRevoked(principal, token.getIssuedAt())) {
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities()
+                            principal, null, principal.getAuthorities()
                     );
 
             authentication.setDetails(
@@ -55,10 +88,12 @@ protected void doFilterInternal(HttpServletRequest request,
             );
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
+            authenticated = true;
         }
     } catch (Exception e) {
         logger.error("Cannot set user authentication: {}");
     }
+    (authenticated ? authenticatedTimer : anonymousTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
     filterChain.doFilter(request, response);
 }
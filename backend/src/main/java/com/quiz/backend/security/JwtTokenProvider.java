@@ -2,6 +2,8 @@ package com.quiz.backend.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,18 +11,35 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
 public class JwtTokenProvider {
     
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
     
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    private final long jwtExpiration;
+    private final int verifiedCacheSize;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Built once; JwtParser is immutable and safe to share between request threads
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    
+    // Recently verified tokens, so repeat requests from a session skip the HMAC
+    private final Map<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    public JwtTokenProvider(@Value("${jwt.secret}") String jwtSecret,
+                            @Value("${jwt.expiration}") long jwtExpiration,
+                            @Value("${jwt.verified-cache-size:10000}") int verifiedCacheSize) {
+        this.jwtExpiration = jwtExpiration;
+        this.verifiedCacheSize = verifiedCacheSize;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
     }
     
     public String generateToken(Authentication authentication) {
@@ -28,34 +47,70 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
         
+        // Tokens issued in the second the credentials changed are revoked, so a
+        // login that already saw the change is stamped with the next second
+        Date issuedAt = now;
+        if (userDetails instanceof UserPrincipal principal
+                && principal.getCredentialsChangedAt() / 1000 >= now.getTime() / 1000) {
+            issuedAt = new Date((principal.getCredentialsChangedAt() / 1000 + 1) * 1000);
+        }
+        
+        // Only the subject: role and revocation are looked up through PrincipalCache
         return Jwts.builder()
                 .subject(userDetails.getUsername())
-                .issuedAt(now)
+                .issuedAt(issuedAt)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
     
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    // Verifies signature and expiry once and extracts everything the filter needs; null if invalid
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verified.get(token);
+        if (cached != null) {
+            if (cached.getExpiresAt() > now) {
+                hits.increment();
+                return cached;
+            }
+            verified.remove(token);
+            return null;
+        }
+        misses.increment();
         
-        return claims.getSubject();
-    }
-    
-    public boolean validateToken(String token) {
+        Claims claims;
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            claims = parser.parseSignedClaims(token).getPayload();
         } catch (JwtException | IllegalArgumentException e) {
-            System.err.println("Invalid JWT token: " + e.getMessage());
+            // Debug only: anyone can send garbage tokens, and rate-limited routes verify before rejecting
+            log.debug("Invalid JWT token: {}", e.getMessage());
+            return null;
+        }
+        
+        long expiresAt = claims.getExpiration() == null ? now + jwtExpiration : claims.getExpiration().getTime();
+        VerifiedToken result = new VerifiedToken(claims.getSubject(), claims.getIssuedAt(), expiresAt);
+        
+        if (verifiedCacheSize > 0) {
+            if (verified.size() >= verifiedCacheSize) {
+                evict(now);
+            }
+            verified.put(token, result);
+        }
+        return result;
+    }
+    
+    public long getCacheHits() { return hits.sum(); }
+    
+    public long getCacheMisses() { return misses.sum(); }
+    
+    public int getCacheSize() { return verified.size(); }
+    
+    private void evict(long now) {
+        verified.values().removeIf(token -> token.getExpiresAt() <= now);
+        Iterator<String> tokens = verified.keySet().iterator();
+        while (verified.size() >= verifiedCacheSize && tokens.hasNext()) {
+            tokens.next();
+            tokens.remove();
         }
-        return false;
     }
 }
@@ -0,0 +1,90 @@
+package com.quiz.backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of authenticated principals keyed by email.
+ * Each principal carries the user's persisted credentials-changed time, and
+ * tokens issued before it are revoked. Every request resolves its principal
+ * here, so role and revocation are never older than the TTL: a change made
+ * on this instance applies at once, one made on another instance when the
+ * cached entry expires.
+ */
+@Component
+public class PrincipalCache {
+
+    @Value("${security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final Map<String, Entry> principals = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public UserPrincipal get(String email, Function<String, UserPrincipal> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = principals.get(email);
+        if (entry != null && entry.expiresAt > now) {
+            hits.increment();
+            return entry.principal;
+        }
+        misses.increment();
+
+        UserPrincipal principal = loader.apply(email).withoutPassword();
+        if (principals.size() >= maxSize) {
+            evict(now);
+        }
+        principals.put(email, new Entry(principal, now + ttlSeconds * 1000));
+        return principal;
+    }
+
+    // Call after a role or password change has been saved
+    public void invalidate(String email) {
+        principals.remove(email);
+    }
+
+    // JWT timestamps have second precision, so a token issued in the same
+    // second as the change may predate it and is revoked too
+    public static boolean isRevoked(UserPrincipal principal, Date issuedAt) {
+        long changed = principal.getCredentialsChangedAt();
+        if (changed == 0) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() / 1000 <= changed / 1000;
+    }
+
+    public long getHits() { return hits.sum(); }
+
+    public long getMisses() { return misses.sum(); }
+
+    public int size() { return principals.size(); }
+
+    private void evict(long now) {
+        principals.values().removeIf(entry -> entry.expiresAt <= now);
+        Iterator<String> keys = principals.keySet().iterator();
+        while (principals.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final UserPrincipal principal;
+        private final long expiresAt;
+
+        private Entry(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.quiz.backend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-route rate limits, applied before authentication. Limits are checked
+ * in the order they were added and the first whose matchers accept the
+ * request applies; requests over it get 429 with Retry-After. USER limits
+ * are keyed by the token's subject and fall back to the client IP when the
+ * request has no valid token. The token verified here is left on the
+ * request for {@link JwtAuthenticationFilter}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String VERIFIED_TOKEN_ATTRIBUTE = RateLimitFilter.class.getName() + ".VERIFIED_TOKEN";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final int maxKeys;
+    private final List<Route> routes = new ArrayList<>();
+    private final List<RateLimiter> limiters = new ArrayList<>();
+
+    public RateLimitFilter(JwtTokenProvider jwtTokenProvider, int maxKeys) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.maxKeys = maxKeys;
+    }
+
+    // All matchers of one limit share its buckets
+    public RateLimitFilter limit(String name, RateLimiter.Scope scope, long permitsPerMinute, int burst,
+                                 RequestMatcher... matchers) {
+        RateLimiter limiter = new RateLimiter(name, scope, permitsPerMinute, burst, maxKeys);
+        limiters.add(limiter);
+        for (RequestMatcher matcher : matchers) {
+            routes.add(new Route(matcher, limiter));
+        }
+        return this;
+    }
+
+    public List<RateLimiter> getLimiters() {
+        return Collections.unmodifiableList(limiters);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimiter limiter = match(request);
+        if (limiter != null) {
+            long wait = limiter.tryAcquire(key(limiter.getScope(), request), System.nanoTime());
+            if (wait > 0) {
+                long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+                response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+                response.getWriter().write("Too many requests, retry in " + seconds + "s");
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimiter match(HttpServletRequest request) {
+        for (Route route : routes) {
+            if (route.matcher.matches(request)) {
+                return route.limiter;
+            }
+        }
+        return null;
+    }
+
+    private String key(RateLimiter.Scope scope, HttpServletRequest request) {
+        if (scope == RateLimiter.Scope.USER) {
+            String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (header != null && header.startsWith("Bearer ")) {
+                VerifiedToken token = jwtTokenProvider.verify(header.substring(7));
+                if (token != null) {
+                    request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, token);
+                    return token.getSubject();
+                }
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static final class Route {
+        private final RequestMatcher matcher;
+        private final RateLimiter limiter;
+
+        private Route(RequestMatcher matcher, RateLimiter limiter) {
+            this.matcher = matcher;
+            this.limiter = limiter;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.quiz.backend.security;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token buckets of one rate limit, one bucket per key (client IP or user).
+ * A bucket is a single AtomicLong holding the time at which it will be full
+ * again, the GCRA form of a token bucket: taking a token is one CAS and no
+ * lock is held. A bucket that has refilled carries no state, so those are
+ * dropped first when the map reaches its bound.
+ */
+public class RateLimiter {
+
+    public enum Scope { IP, USER }
+
+    private final String name;
+    private final Scope scope;
+    // Time one token takes to refill, and the time a full bucket takes
+    private final long interval;
+    private final long capacity;
+    private final int maxKeys;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimiter(String name, Scope scope, long permitsPerMinute, int burst, int maxKeys) {
+        if (permitsPerMinute < 1 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit " + name + " needs at least one permit per minute and a burst of one");
+        }
+        this.name = name;
+        this.scope = scope;
+        this.interval = TimeUnit.MINUTES.toNanos(1) / permitsPerMinute;
+        this.capacity = interval * burst;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes a token from the key's bucket at the given System.nanoTime().
+     * Returns 0 if one was available, otherwise the nanoseconds until one
+     * will be.
+     */
+    public long tryAcquire(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = newBucket(key, now);
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now > 0 ? fullAt : now) + interval;
+            long wait = next - now - capacity;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public String getName() { return name; }
+
+    public Scope getScope() { return scope; }
+
+    public long getRejected() { return rejected.sum(); }
+
+    public int size() { return buckets.size(); }
+
+    private AtomicLong newBucket(String key, long now) {
+        if (buckets.size() >= maxKeys && evictionLock.tryLock()) {
+            try {
+                evict(now);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    // Full buckets first; if that is not enough, arbitrary ones down to 90% so the
+    // next inserts do not sweep again
+    private void evict(long now) {
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        Iterator<AtomicLong> remaining = buckets.values().iterator();
+        while (buckets.size() >= maxKeys - maxKeys / 10 && remaining.hasNext()) {
+            remaining.next();
+            remaining.remove();
+        }
+    }
+}
@@ -3,18 +3,14 @@ package com.quiz.backend.security;
 import com.quiz.backend.model.User;
 import com.quiz.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collection;
-import java.util.Collections;
-
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UserRepository userRepository;
@@ -28,16 +24,17 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             .orElseThrow(() ->
                     new UsernameNotFoundException("User not found"));
 
-        return new org.springframework.security.core.userdetails.User(
-            user.getEmail(),
-            user.getPassword(),
-            getAuthorities(user)
-        );
+        return UserPrincipal.from(user);
     }
-    
-    private Collection<? extends GrantedAuthority> getAuthorities(User user) {
-        return Collections.singletonList(
-                new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
-        );
+
+    // Called after a successful login whose stored hash is outdated
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+            .orElseThrow(() ->
+                    new UsernameNotFoundException("User not found"));
+
+        user.setPassword(newPassword);
+        return UserPrincipal.from(userRepository.save(user));
     }
 }
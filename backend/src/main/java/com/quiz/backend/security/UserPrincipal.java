@@ -0,0 +1,94 @@
+package com.quiz.backend.security;
+
+import com.quiz.backend.model.User;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Authenticated user as seen by the rest of the application: enough to
+ * authorize a request and attribute its writes without loading {@link User}.
+ */
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final User.Role role;
+    private final String password;
+    // Epoch millis of the last password or role change, 0 if there was none
+    private final long credentialsChangedAt;
+    private final List<GrantedAuthority> authorities;
+
+    public UserPrincipal(Long id, String email, String name, User.Role role, String password) {
+        this(id, email, name, role, password, 0);
+    }
+
+    public UserPrincipal(Long id, String email, String name, User.Role role, String password,
+                         long credentialsChangedAt) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.role = role;
+        this.password = password;
+        this.credentialsChangedAt = credentialsChangedAt;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getName(), user.getRole(), user.getPassword(),
+                user.getCredentialsChangedAt() == null ? 0 : Timestamp.valueOf(user.getCredentialsChangedAt()).getTime());
+    }
+
+    // The caller of the current request, as resolved by JwtAuthenticationFilter
+    public static UserPrincipal current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            throw new RuntimeException("User not found");
+        }
+        return principal;
+    }
+
+    // Copy safe to keep in memory: the password hash is dropped
+    public UserPrincipal withoutPassword() {
+        return password == null ? this : new UserPrincipal(id, email, name, role, null, credentialsChangedAt);
+    }
+
+    public Long getId() { return id; }
+
+    public String getEmail() { return email; }
+
+    public String getName() { return name; }
+
+    public User.Role getRole() { return role; }
+
+    public long getCredentialsChangedAt() { return credentialsChangedAt; }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { return authorities; }
+
+    @Override
+    public String getPassword() { return password; }
+
+    @Override
+    public String getUsername() { return email; }
+
+    @Override
+    public boolean isAccountNonExpired() { return true; }
+
+    @Override
+    public boolean isAccountNonLocked() { return true; }
+
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+
+    @Override
+    public boolean isEnabled() { return true; }
+}
@@ -0,0 +1,26 @@
+package com.quiz.backend.security;
+
+import java.util.Date;
+
+/**
+ * What the filter needs from a token whose signature and expiry have been
+ * checked. The user behind the subject is resolved through {@link PrincipalCache}.
+ */
+public final class VerifiedToken {
+
+    private final String subject;
+    private final Date issuedAt;
+    private final long expiresAt;
+
+    public VerifiedToken(String subject, Date issuedAt, long expiresAt) {
+        this.subject = subject;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getSubject() { return subject; }
+
+    public Date getIssuedAt() { return issuedAt; }
+
+    public long getExpiresAt() { return expiresAt; }
+}
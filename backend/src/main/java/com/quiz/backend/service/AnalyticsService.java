@@ -0,0 +1,231 @@
+package com.quiz.backend.service;
+
+import com.quiz.backend.dto.AnalyticsResponse;
+import com.quiz.backend.model.User;
+import com.quiz.backend.repository.QuizRepository;
+import com.quiz.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Incrementally maintained aggregates behind the admin analytics dashboard.
+ *
+ * Every accepted submission bumps per-day counters (overall, per quiz and per
+ * category), so answering a week/month/year query only sums at most 365 day
+ * buckets; the size of the {@code results} table never enters the picture.
+ * The counters are rebuilt at startup by {@link ResultHistoryReplayer}.
+ */
+@Service
+public class AnalyticsService {
+
+    public static final int RETENTION_DAYS = 366;
+    private static final int RECENT_ACTIVITY_SIZE = 10;
+    private static final String UNCATEGORIZED = "Uncategorized";
+    private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("MMM d", Locale.ENGLISH);
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ConcurrentSkipListMap<Long, DayBucket> days = new ConcurrentSkipListMap<>();
+    private final Map<Long, ScoreStats> quizTotals = new ConcurrentHashMap<>();
+    private final Map<Long, String> quizTitles = new ConcurrentHashMap<>();
+    private final Map<Long, Long> lastActiveDay = new ConcurrentHashMap<>();
+
+    // newest first, guarded by recentLock
+    private final ResultSubmittedEvent[] recent = new ResultSubmittedEvent[RECENT_ACTIVITY_SIZE];
+    private int recentCount;
+    private final ReentrantLock recentLock = new ReentrantLock();
+
+    @EventListener
+    @Order(0)
+    public void onResultSubmitted(ResultSubmittedEvent event) {
+        LocalDateTime completedAt = event.getCompletedAt() != null ? event.getCompletedAt() : LocalDateTime.now();
+        long day = completedAt.toLocalDate().toEpochDay();
+        long oldestDay = LocalDate.now().toEpochDay() - RETENTION_DAYS;
+
+        quizTotals.computeIfAbsent(event.getQuizId(), id -> new ScoreStats()).record(event.getScore());
+        if (event.getQuizTitle() != null) {
+            quizTitles.put(event.getQuizId(), event.getQuizTitle());
+        }
+        if (event.getUserId() != null) {
+            lastActiveDay.merge(event.getUserId(), day, Math::max);
+        }
+
+        if (day > oldestDay) {
+            DayBucket bucket = days.get(day);
+            if (bucket == null) {
+                bucket = days.computeIfAbsent(day, d -> new DayBucket());
+                days.headMap(oldestDay, true).clear();
+            }
+            bucket.record(event);
+        }
+
+        offerRecent(event);
+    }
+
+    // All-time counters of one quiz
+    public ScoreStats.Totals getQuizTotals(Long quizId) {
+        ScoreStats stats = quizTotals.get(quizId);
+        return stats == null ? new ScoreStats.Totals() : stats.snapshot();
+    }
+
+    public AnalyticsResponse getAnalytics(String range) {
+        String normalizedRange = range == null ? "week" : range.toLowerCase().trim();
+        int span = switch (normalizedRange) {
+            case "month" -> 30;
+            case "year" -> 365;
+            default -> 7;
+        };
+        if (span == 7) {
+            normalizedRange = "week";
+        }
+
+        LocalDate today = LocalDate.now();
+        long from = today.minusDays(span - 1).toEpochDay();
+        long to = today.toEpochDay();
+
+        ScoreStats.Totals overall = new ScoreStats.Totals();
+        Map<Long, ScoreStats.Totals> perQuiz = new HashMap<>();
+        Map<String, ScoreStats.Totals> perCategory = new HashMap<>();
+        Map<String, Set<Long>> quizzesPerCategory = new HashMap<>();
+        List<AnalyticsResponse.TrendPoint> trend = new ArrayList<>();
+
+        // a point per day for week/month, per week for year
+        int daysPerPoint = span == 365 ? 7 : 1;
+        ScoreStats.Totals point = new ScoreStats.Totals();
+        int pointDays = 0;
+        for (long day = from; day <= to; day++) {
+            DayBucket bucket = days.get(day);
+            if (bucket != null) {
+                bucket.total.addTo(overall);
+                bucket.total.addTo(point);
+                bucket.byQuiz.forEach((quizId, stats) ->
+                        stats.addTo(perQuiz.computeIfAbsent(quizId, id -> new ScoreStats.Totals())));
+                bucket.byCategory.forEach((category, stats) ->
+                        stats.addTo(perCategory.computeIfAbsent(category, c -> new ScoreStats.Totals())));
+                bucket.quizzesByCategory.forEach((category, quizIds) ->
+                        quizzesPerCategory.computeIfAbsent(category, c -> new HashSet<>()).addAll(quizIds));
+            }
+            if (++pointDays == daysPerPoint || day == to) {
+                LocalDate pointStart = LocalDate.ofEpochDay(day - pointDays + 1);
+                String label = span == 7
+                        ? pointStart.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH)
+                        : pointStart.format(DAY_LABEL);
+                trend.add(new AnalyticsResponse.TrendPoint(
+                        label, pointStart, point.getAttempts(), point.getAverageScore()));
+                point = new ScoreStats.Totals();
+                pointDays = 0;
+            }
+        }
+
+        List<AnalyticsResponse.QuizPerformance> quizPerformance = new ArrayList<>();
+        perQuiz.forEach((quizId, totals) -> quizPerformance.add(new AnalyticsResponse.QuizPerformance(
+                quizId,
+                quizTitles.getOrDefault(quizId, "Quiz " + quizId),
+                totals.getAttempts(),
+                totals.getAverageScore(),
+                totals.getPassRate(),
+                totals.getHistogram()
+        )));
+        quizPerformance.sort(Comparator.comparingLong(AnalyticsResponse.QuizPerformance::getAttempts).reversed());
+
+        List<AnalyticsResponse.CategoryBreakdown> categoryBreakdown = new ArrayList<>();
+        perCategory.forEach((category, totals) -> categoryBreakdown.add(new AnalyticsResponse.CategoryBreakdown(
+                category,
+                quizzesPerCategory.getOrDefault(category, Set.of()).size(),
+                totals.getAttempts(),
+                totals.getAverageScore(),
+                totals.getHistogram()
+        )));
+        categoryBreakdown.sort(Comparator.comparingLong(AnalyticsResponse.CategoryBreakdown::getAttempts).reversed());
+
+        long activeUsers = lastActiveDay.values().stream().filter(day -> day >= from).count();
+
+        AnalyticsResponse.Overview overview = new AnalyticsResponse.Overview(
+                quizRepository.count(),
+                overall.getAttempts(),
+                userRepository.countByRole(User.Role.STUDENT),
+                overall.getAverageScore(),
+                overall.getPassRate(),
+                activeUsers
+        );
+
+        return new AnalyticsResponse(normalizedRange, overview, quizPerformance,
+                categoryBreakdown, trend, getRecentActivity());
+    }
+
+    private void offerRecent(ResultSubmittedEvent event) {
+        if (event.getCompletedAt() == null) {
+            return;
+        }
+        recentLock.lock();
+        try {
+            int position = recentCount;
+            while (position > 0 && recent[position - 1].getCompletedAt().isBefore(event.getCompletedAt())) {
+                position--;
+            }
+            if (position >= RECENT_ACTIVITY_SIZE) {
+                return;
+            }
+            int last = Math.min(recentCount, RECENT_ACTIVITY_SIZE - 1);
+            System.arraycopy(recent, position, recent, position + 1, last - position);
+            recent[position] = event;
+            recentCount = Math.min(recentCount + 1, RECENT_ACTIVITY_SIZE);
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    private List<AnalyticsResponse.Activity> getRecentActivity() {
+        List<AnalyticsResponse.Activity> activity = new ArrayList<>(RECENT_ACTIVITY_SIZE);
+        recentLock.lock();
+        try {
+            for (int i = 0; i < recentCount; i++) {
+                ResultSubmittedEvent event = recent[i];
+                activity.add(new AnalyticsResponse.Activity(
+                        event.getUserName(), event.getQuizTitle(), event.getScore(), event.getCompletedAt()));
+            }
+        } finally {
+            recentLock.unlock();
+        }
+        return activity;
+    }
+
+    private static final class DayBucket {
+
+        private final ScoreStats total = new ScoreStats();
+        private final Map<Long, ScoreStats> byQuiz = new ConcurrentHashMap<>();
+        private final Map<String, ScoreStats> byCategory = new ConcurrentHashMap<>();
+        private final Map<String, Set<Long>> quizzesByCategory = new ConcurrentHashMap<>();
+
+        void record(ResultSubmittedEvent event) {
+            String category = event.getCategory() == null || event.getCategory().isBlank()
+                    ? UNCATEGORIZED : event.getCategory();
+            total.record(event.getScore());
+            byQuiz.computeIfAbsent(event.getQuizId(), id -> new ScoreStats()).record(event.getScore());
+            byCategory.computeIfAbsent(category, c -> new ScoreStats()).record(event.getScore());
+            quizzesByCategory.computeIfAbsent(category, c -> ConcurrentHashMap.newKeySet()).add(event.getQuizId());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.quiz.backend.service;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable, compact answer key of a quiz: question ids and the correct
+ * option of each question, stored side by side in primitive arrays.
+ * Question ids are in ascending order.
+ */
+public final class AnswerKey {
+
+    public static final byte NO_ANSWER = -1;
+    // Recorded for questions left out of an attempt that draws a subset
+    public static final byte NOT_PRESENTED = -2;
+    public static final int MAX_OPTIONS = 4;
+
+    private final Long quizId;
+    private final Long versionId;
+    private final String quizTitle;
+    private final String category;
+    private final Integer durationMinutes;
+    private final boolean active;
+    private final long[] questionIds;
+    private final byte[] correctOptions;
+    private final byte[] optionCounts;
+    private final int drawCount;
+    private final int layout;
+
+    public AnswerKey(Long quizId, String quizTitle, String category, Integer durationMinutes,
+                     boolean active, long[] questionIds, byte[] correctOptions) {
+        this(quizId, null, quizTitle, category, durationMinutes, active, 0, questionIds, correctOptions,
+                filled(questionIds.length, (byte) MAX_OPTIONS));
+    }
+
+    // questionsPerAttempt of 0 presents every question
+    public AnswerKey(Long quizId, Long versionId, String quizTitle, String category, Integer durationMinutes,
+                     boolean active, int questionsPerAttempt, long[] questionIds, byte[] correctOptions,
+                     byte[] optionCounts) {
+        if (questionIds.length != correctOptions.length || questionIds.length != optionCounts.length) {
+            throw new IllegalArgumentException("Question ids and correct options differ in length");
+        }
+        this.quizId = quizId;
+        this.versionId = versionId;
+        this.quizTitle = quizTitle;
+        this.category = category;
+        this.durationMinutes = durationMinutes;
+        this.active = active;
+        this.questionIds = questionIds;
+        this.correctOptions = correctOptions;
+        this.optionCounts = optionCounts;
+        this.drawCount = questionsPerAttempt > 0 ? Math.min(questionsPerAttempt, questionIds.length)
+                : questionIds.length;
+        this.layout = Arrays.hashCode(questionIds);
+    }
+
+    public static byte toOption(Integer correctAnswer) {
+        return correctAnswer == null ? NO_ANSWER : correctAnswer.byteValue();
+    }
+
+    // A client's answer to the i-th question; anything but one of its options counts as unanswered
+    public byte toAnswer(int index, Integer answer) {
+        if (answer == null || answer < 0 || answer >= optionCounts[index]) {
+            return NO_ANSWER;
+        }
+        return answer.byteValue();
+    }
+
+    public int countCorrect(Map<Long, Integer> answers) {
+        if (answers == null || answers.isEmpty()) {
+            return 0;
+        }
+        int correct = 0;
+        for (int i = 0; i < questionIds.length; i++) {
+            Integer answer = answers.get(questionIds[i]);
+            if (answer != null && correctOptions[i] != NO_ANSWER && answer == correctOptions[i]) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    // options[i] is the answer to the i-th question of this key, NO_ANSWER if unanswered
+    public int countCorrect(byte[] options) {
+        int correct = 0;
+        for (int i = 0; i < questionIds.length && i < options.length; i++) {
+            if (options[i] != NO_ANSWER && options[i] == correctOptions[i]) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    // Answers in key order, as recorded per result for item analysis. Client
+    // answers never produce NOT_PRESENTED; only an attempt's layout does.
+    public byte[] toOptions(Map<Long, Integer> answers) {
+        byte[] options = emptyAnswers();
+        if (answers != null) {
+            for (int i = 0; i < questionIds.length; i++) {
+                options[i] = toAnswer(i, answers.get(questionIds[i]));
+            }
+        }
+        return options;
+    }
+
+    // Position of the question in this key, or -1 if it is not part of the quiz
+    public int indexOf(long questionId) {
+        int index = Arrays.binarySearch(questionIds, questionId);
+        return index < 0 ? -1 : index;
+    }
+
+    public byte[] emptyAnswers() {
+        return filled(questionIds.length, NO_ANSWER);
+    }
+
+    // Questions that were part of the attempt the options were recorded for
+    public int countPresented(byte[] options) {
+        int presented = 0;
+        for (int i = 0; i < questionIds.length && i < options.length; i++) {
+            if (options[i] != NOT_PRESENTED) {
+                presented++;
+            }
+        }
+        return presented;
+    }
+
+    public int score(int correctAnswers) {
+        return score(correctAnswers, questionIds.length);
+    }
+
+    public int score(int correctAnswers, int presented) {
+        return presented == 0 ? 0 : (int) ((correctAnswers * 100.0) / presented);
+    }
+
+    private static byte[] filled(int length, byte value) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, value);
+        return bytes;
+    }
+
+    public Long getQuizId() { return quizId; }
+
+    // Published quiz version this key was taken from
+    public Long getVersionId() { return versionId; }
+
+    public String getQuizTitle() { return quizTitle; }
+
+    public String getCategory() { return category; }
+
+    public Integer getDurationMinutes() { return durationMinutes; }
+
+    public boolean isActive() { return active; }
+
+    public long getQuestionId(int index) { return questionIds[index]; }
+
+    public byte getCorrectOption(int index) { return correctOptions[index]; }
+
+    public int getOptionCount(int index) { return optionCounts[index]; }
+
+    // Questions presented per attempt
+    public int getDrawCount() { return drawCount; }
+
+    // Fingerprint of the question set; recorded answers only line up with a key of the same layout
+    public int getLayout() { return layout; }
+
+    public int getQuestionCount() { return questionIds.length; }
+}
@@ -0,0 +1,70 @@
+package com.quiz.backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Answer key of each quiz's current version, reused for every submission so
+ * that scoring never loads the quiz entity graph. Keys of older versions stay
+ * with the attempts that started on them.
+ */
+@Component
+public class AnswerKeyCache {
+
+    @Autowired
+    private QuizVersionService quizVersionService;
+
+    private final Map<Long, AnswerKey> keys = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AnswerKey get(Long quizId) {
+        if (quizId == null) {
+            throw new RuntimeException("Quiz id is required");
+        }
+        AnswerKey key = keys.get(quizId);
+        if (key != null) {
+            hits.increment();
+            return key;
+        }
+        misses.increment();
+        return keys.computeIfAbsent(quizId, this::load);
+    }
+
+    // Drops the key now and again once the surrounding transaction commits,
+    // so a concurrent reader cannot re-cache the pre-commit state.
+    public void invalidate(Long quizId) {
+        if (quizId == null) {
+            return;
+        }
+        keys.remove(quizId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    keys.remove(quizId);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        keys.clear();
+    }
+
+    public long getHits() { return hits.sum(); }
+
+    public long getMisses() { return misses.sum(); }
+
+    public int size() { return keys.size(); }
+
+    private AnswerKey load(Long quizId) {
+        return quizVersionService.current(quizId).getAnswerKey();
+    }
+}
@@ -0,0 +1,300 @@
+package com.quiz.backend.service;
+
+import com.quiz.backend.dto.AttemptQuestionsResponse;
+import com.quiz.backend.dto.AttemptResponse;
+import com.quiz.backend.dto.ResultResponse;
+import com.quiz.backend.security.UserPrincipal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Timed, server-authoritative quiz attempts. The server stamps the start,
+ * enforces the quiz duration and computes timeTaken itself. Every session's
+ * deadline sits in one {@link HashedTimerWheel}; when it fires, the answers
+ * saved so far are submitted on the student's behalf.
+ *
+ * Autosaved answers are held in the {@link AttemptStore} and written to
+ * attempt_answers in the background; submission scores from the stored state.
+ * Attempts still running at shutdown are restored at startup.
+ */
+@Service
+public class AttemptService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttemptService.class);
+
+    private static final long EXPIRY_RETRY_MS = 5000;
+
+    @Value("${quiz.attempts.default-duration-minutes:60}")
+    private int defaultDurationMinutes;
+
+    // Late submissions within the grace period are still accepted
+    @Value("${quiz.attempts.grace-seconds:5}")
+    private int graceSeconds;
+
+    @Value("${quiz.attempts.tick-ms:100}")
+    private long tickMs;
+
+    @Value("${quiz.attempts.wheel-size:1024}")
+    private int wheelSize;
+
+    @Autowired
+    private AnswerKeyCache answerKeyCache;
+
+    @Autowired
+    private ResultService resultService;
+
+    @Autowired
+    private AttemptStore attemptStore;
+
+    @Autowired
+    private QuizVersionService quizVersionService;
+
+    @Autowired
+    private ResultIngestionPipeline resultIngestionPipeline;
+
+    private final AtomicLong ids = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private ExecutorService expiryExecutor;
+    private HashedTimerWheel wheel;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        expiryExecutor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "attempt-expiry-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        wheel = new HashedTimerWheel("attempt-timer-wheel", tickMs, TimeUnit.MILLISECONDS, wheelSize, expiryExecutor);
+
+        // Attempts that were running at the last shutdown; past their deadline they are submitted right away.
+        // Ones submitted just before it have a stored or journaled result and stay finished.
+        List<AttemptSession> restored = attemptStore.restore(versionId -> quizVersionService.get(versionId).getAnswerKey(),
+                resultIngestionPipeline.getReplayedAttemptIds());
+        long now = System.currentTimeMillis();
+        for (AttemptSession session : restored) {
+            ids.accumulateAndGet(session.getId(), Math::max);
+            long delay = session.getExpiresAtMillis() - now + TimeUnit.SECONDS.toMillis(graceSeconds);
+            scheduleExpiry(session, Math.max(0, delay));
+        }
+        if (!restored.isEmpty()) {
+            log.info("Restored {} running attempts", restored.size());
+        }
+    }
+
+    // Starting again while an attempt on the same quiz is running returns that attempt
+    public AttemptResponse startAttempt(Long quizId) {
+        UserPrincipal user = UserPrincipal.current();
+        AnswerKey answerKey = answerKeyCache.get(quizId);
+        if (!answerKey.isActive()) {
+            throw new RuntimeException("Quiz is not active");
+        }
+        if (answerKey.getQuestionCount() == 0) {
+            throw new RuntimeException("Quiz has no questions");
+        }
+
+        AttemptSession session = attemptStore.activeOrCreate(user.getId(), quizId, () -> {
+            int minutes = answerKey.getDurationMinutes() != null && answerKey.getDurationMinutes() > 0
+                    ? answerKey.getDurationMinutes() : defaultDurationMinutes;
+            long now = System.currentTimeMillis();
+            AttemptSession created = new AttemptSession(ids.incrementAndGet(), user.getId(), user.getName(),
+                    answerKey, now, now + TimeUnit.MINUTES.toMillis(minutes));
+            scheduleExpiry(created, created.getExpiresAtMillis() - now + TimeUnit.SECONDS.toMillis(graceSeconds));
+            return created;
+        });
+        return toResponse(session);
+    }
+
+    public AttemptResponse getAttempt(Long attemptId) {
+        return toResponse(owned(attemptId));
+    }
+
+    // Shown order of the attempt's questions and options, recomputed from its seed
+    public AttemptQuestionsResponse getQuestions(Long attemptId) {
+        AttemptSession session = owned(attemptId);
+        AnswerKey answerKey = session.getAnswerKey();
+        AttemptShuffle shuffle = session.getShuffle();
+        // Served from the attempt's immutable version, never from the editable quiz
+        QuizSnapshot snapshot = quizVersionService.get(answerKey.getVersionId());
+
+        int[] order = shuffle.questionOrder();
+        List<AttemptQuestionsResponse.Item> items = new ArrayList<>(order.length);
+        for (int index : order) {
+            QuizSnapshot.Item question = snapshot.getQuestions().get(index);
+            List<String> options = new ArrayList<>(AnswerKey.MAX_OPTIONS);
+            for (int optionIndex : shuffle.optionOrder(index)) {
+                options.add(question.getOption(optionIndex));
+            }
+            items.add(new AttemptQuestionsResponse.Item(question.getId(), question.getQuestion(), options));
+        }
+        return new AttemptQuestionsResponse(session.getId(), session.getQuizId(), answerKey.getQuizTitle(), items);
+    }
+
+    // Autosave: only touches memory, the store flushes the changes in the background
+    public AttemptResponse saveAnswers(Long attemptId, Map<Long, Integer> answers) {
+        AttemptSession session = owned(attemptId);
+        ReentrantLock lock = attemptStore.lockFor(session);
+        lock.lock();
+        try {
+            checkOpen(session, System.currentTimeMillis());
+            applyAnswers(session, answers);
+            return toResponse(session);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ResultResponse submitAttempt(Long attemptId, Map<Long, Integer> answers) {
+        AttemptSession session = owned(attemptId);
+        ReentrantLock lock = attemptStore.lockFor(session);
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            checkOpen(session, now);
+
+            applyAnswers(session, answers);
+            ResultResponse result = record(session, session.elapsedSeconds(now));
+            session.setStatus(AttemptSession.Status.SUBMITTED);
+            if (session.getExpiry() != null) {
+                session.getExpiry().cancel();
+            }
+            attemptStore.remove(session);
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // POST /api/results: submits the caller's running attempt on the quiz, so the
+    // time limit, the server's clock and the drawn questions apply there too
+    public ResultResponse submitActiveAttempt(Long quizId, Map<Long, Integer> answers) {
+        AttemptSession session = attemptStore.active(UserPrincipal.current().getId(), quizId);
+        if (session == null) {
+            throw new RuntimeException("No attempt in progress on this quiz; start one first");
+        }
+        return submitAttempt(session.getId(), answers);
+    }
+
+    public long getActiveCount() {
+        return attemptStore.size();
+    }
+
+    private void expire(AttemptSession session) {
+        ReentrantLock lock = attemptStore.lockFor(session);
+        lock.lock();
+        try {
+            if (session.getStatus() != AttemptSession.Status.ACTIVE) {
+                return;
+            }
+            record(session, session.elapsedSeconds(System.currentTimeMillis()));
+            session.setStatus(AttemptSession.Status.EXPIRED);
+            attemptStore.remove(session);
+        } catch (SubmissionRejectedException e) {
+            // Result pipeline is saturated; try again shortly
+            scheduleExpiry(session, 1000);
+        } catch (RuntimeException e) {
+            // Nothing was recorded; keep the session and its answers and try again
+            log.error("Auto-submit of attempt {} failed, retrying in {} ms", session.getId(), EXPIRY_RETRY_MS, e);
+            scheduleExpiry(session, EXPIRY_RETRY_MS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkOpen(AttemptSession session, long now) {
+        if (session.getStatus() != AttemptSession.Status.ACTIVE) {
+            throw new RuntimeException("Attempt is already " + session.getStatus().name().toLowerCase());
+        }
+        if (now > session.getExpiresAtMillis() + TimeUnit.SECONDS.toMillis(graceSeconds)) {
+            throw new RuntimeException("Attempt has expired");
+        }
+    }
+
+    private void applyAnswers(AttemptSession session, Map<Long, Integer> answers) {
+        if (answers == null) {
+            return;
+        }
+        AnswerKey answerKey = session.getAnswerKey();
+        boolean changed = false;
+        for (Map.Entry<Long, Integer> answer : answers.entrySet()) {
+            if (answer.getKey() == null) {
+                continue;
+            }
+            int index = answerKey.indexOf(answer.getKey());
+            if (index >= 0) {
+                // Clients answer with the shown option position
+                byte option = answer.getValue() == null ? AnswerKey.NO_ANSWER
+                        : session.getShuffle().toOriginalOption(index, answer.getValue());
+                changed |= session.setAnswer(index, option);
+            }
+        }
+        if (changed) {
+            attemptStore.markDirty(session);
+        }
+    }
+
+    private ResultResponse record(AttemptSession session, int timeTaken) {
+        return resultService.record(session.getId(), session.getUserId(), session.getUserName(),
+                session.getAnswerKey(), session.answers().clone(), timeTaken);
+    }
+
+    private void scheduleExpiry(AttemptSession session, long delayMillis) {
+        session.setExpiry(wheel.schedule(() -> expire(session), delayMillis, TimeUnit.MILLISECONDS));
+    }
+
+    private AttemptSession owned(Long attemptId) {
+        AttemptSession session = attemptStore.get(attemptId);
+        if (session == null || !session.getUserId().equals(UserPrincipal.current().getId())) {
+            throw new RuntimeException("Attempt not found with id: " + attemptId);
+        }
+        return session;
+    }
+
+    private AttemptResponse toResponse(AttemptSession session) {
+        long remaining = Math.max(0, (session.getExpiresAtMillis() - System.currentTimeMillis()) / 1000);
+        AnswerKey answerKey = session.getAnswerKey();
+        Map<Long, Integer> saved = new HashMap<>();
+        ReentrantLock lock = attemptStore.lockFor(session);
+        lock.lock();
+        try {
+            byte[] answers = session.answers();
+            for (int i = 0; i < answers.length; i++) {
+                if (answers[i] >= 0) {
+                    saved.put(answerKey.getQuestionId(i), (int) session.getShuffle().toShownOption(i, answers[i]));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new AttemptResponse(session.getId(), session.getQuizId(), session.getStatus().name(),
+                toDateTime(session.getStartedAtMillis()), toDateTime(session.getExpiresAtMillis()),
+                remaining, answerKey.getDrawCount(), saved);
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    @PreDestroy
+    public void stop() {
+        wheel.stop();
+        expiryExecutor.shutdown();
+    }
+}
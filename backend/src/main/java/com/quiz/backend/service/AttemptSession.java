@@ -0,0 +1,115 @@
+package com.quiz.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * Server-side state of one timed quiz attempt. Answers are kept as one byte
+ * per question, aligned with the quiz's {@link AnswerKey}, with a bitmap of
+ * the questions changed since the last flush. Answers are stored in original
+ * option positions; {@link AttemptShuffle} maps them to and from the shown
+ * order. All mutable state is guarded by the session's stripe lock in
+ * {@link AttemptStore}.
+ */
+public final class AttemptSession {
+
+    public enum Status { ACTIVE, SUBMITTED, EXPIRED }
+
+    private final long id;
+    private final Long userId;
+    private final String userName;
+    private final AnswerKey answerKey;
+    private final long startedAtMillis;
+    private final long expiresAtMillis;
+    private final AttemptShuffle shuffle;
+    private final byte[] answers;
+    private final long[] changed;
+
+    private Status status = Status.ACTIVE;
+    private boolean queuedForFlush;
+    // Whether the attempts row has been written
+    private boolean stored;
+    private HashedTimerWheel.Timeout expiry;
+
+    AttemptSession(long id, Long userId, String userName, AnswerKey answerKey,
+                   long startedAtMillis, long expiresAtMillis) {
+        this.id = id;
+        this.userId = userId;
+        this.userName = userName;
+        this.answerKey = answerKey;
+        this.startedAtMillis = startedAtMillis;
+        this.expiresAtMillis = expiresAtMillis;
+        this.shuffle = new AttemptShuffle(id, answerKey);
+        this.answers = answerKey.emptyAnswers();
+        this.changed = new long[(answers.length + 63) >>> 6];
+        if (answerKey.getDrawCount() < answers.length) {
+            Arrays.fill(answers, AnswerKey.NOT_PRESENTED);
+            for (int index : shuffle.questionOrder()) {
+                answers[index] = AnswerKey.NO_ANSWER;
+            }
+        }
+    }
+
+    public long getId() { return id; }
+
+    public Long getUserId() { return userId; }
+
+    public String getUserName() { return userName; }
+
+    public AnswerKey getAnswerKey() { return answerKey; }
+
+    public Long getQuizId() { return answerKey.getQuizId(); }
+
+    public AttemptShuffle getShuffle() { return shuffle; }
+
+    public long getStartedAtMillis() { return startedAtMillis; }
+
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+
+    // Live array; read and write only while holding the stripe lock
+    byte[] answers() { return answers; }
+
+    // Returns true if the answer actually changed; questions not drawn for this attempt are ignored
+    boolean setAnswer(int index, byte option) {
+        if (answers[index] == option || answers[index] == AnswerKey.NOT_PRESENTED) {
+            return false;
+        }
+        answers[index] = option;
+        markChanged(index);
+        return true;
+    }
+
+    // Answer read back from attempt_answers; already stored, so not marked changed
+    void restoreAnswer(int index, byte option) {
+        if (answers[index] != AnswerKey.NOT_PRESENTED) {
+            answers[index] = option;
+        }
+    }
+
+    void markChanged(int index) {
+        changed[index >>> 6] |= 1L << index;
+    }
+
+    long[] changed() { return changed; }
+
+    boolean isQueuedForFlush() { return queuedForFlush; }
+
+    void setQueuedForFlush(boolean queuedForFlush) { this.queuedForFlush = queuedForFlush; }
+
+    boolean isStored() { return stored; }
+
+    void setStored(boolean stored) { this.stored = stored; }
+
+    public Status getStatus() { return status; }
+
+    void setStatus(Status status) { this.status = status; }
+
+    void setExpiry(HashedTimerWheel.Timeout expiry) { this.expiry = expiry; }
+
+    HashedTimerWheel.Timeout getExpiry() { return expiry; }
+
+    // Seconds from start to the given instant, capped at the time limit
+    int elapsedSeconds(long nowMillis) {
+        long end = Math.min(nowMillis, expiresAtMillis);
+        return (int) Math.max(0, (end - startedAtMillis + 999) / 1000);
+    }
+}
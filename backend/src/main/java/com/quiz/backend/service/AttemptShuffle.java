@@ -0,0 +1,105 @@
+package com.quiz.backend.service;
+
+/**
+ * Question and option order of one attempt. Both are derived from a seed of
+ * (attempt id, quiz version id) with SplitMix64, so any permutation can be
+ * recomputed in O(questions) whenever it is needed and is never stored.
+ * Answers are mapped between shown and original option positions on the fly.
+ */
+public final class AttemptShuffle {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final AnswerKey answerKey;
+
+    public AttemptShuffle(long attemptId, AnswerKey answerKey) {
+        long version = answerKey.getVersionId() != null ? answerKey.getVersionId() : answerKey.getLayout();
+        this.seed = mix(attemptId * GOLDEN_GAMMA ^ version);
+        this.answerKey = answerKey;
+    }
+
+    /**
+     * Answer-key positions of the questions in the order they are shown. When
+     * the quiz draws a subset, these are the first drawCount positions of a
+     * seeded Fisher-Yates shuffle of the whole pool.
+     */
+    public int[] questionOrder() {
+        int total = answerKey.getQuestionCount();
+        int draw = answerKey.getDrawCount();
+        int[] order = new int[total];
+        for (int i = 0; i < total; i++) {
+            order[i] = i;
+        }
+        long state = seed;
+        for (int i = 0; i < draw && i < total - 1; i++) {
+            state += GOLDEN_GAMMA;
+            int j = i + bounded(mix(state), total - i);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        if (draw == total) {
+            return order;
+        }
+        int[] drawn = new int[draw];
+        System.arraycopy(order, 0, drawn, 0, draw);
+        return drawn;
+    }
+
+    // Original option shown at the given position, or NO_ANSWER if the position does not exist
+    public byte toOriginalOption(int keyIndex, int shown) {
+        int count = answerKey.getOptionCount(keyIndex);
+        if (shown < 0 || shown >= count) {
+            return AnswerKey.NO_ANSWER;
+        }
+        return (byte) optionOrder(keyIndex, count)[shown];
+    }
+
+    // Position at which the original option is shown
+    public byte toShownOption(int keyIndex, byte original) {
+        int count = answerKey.getOptionCount(keyIndex);
+        if (original < 0 || original >= count) {
+            return original;
+        }
+        int[] order = optionOrder(keyIndex, count);
+        for (int shown = 0; shown < count; shown++) {
+            if (order[shown] == original) {
+                return (byte) shown;
+            }
+        }
+        return original;
+    }
+
+    // order[shown] = original option index
+    public int[] optionOrder(int keyIndex) {
+        return optionOrder(keyIndex, answerKey.getOptionCount(keyIndex));
+    }
+
+    private int[] optionOrder(int keyIndex, int count) {
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        long random = mix(seed ^ answerKey.getQuestionId(keyIndex) * GOLDEN_GAMMA);
+        for (int i = count - 1; i > 0; i--) {
+            // 8 bits per step are plenty for at most MAX_OPTIONS positions
+            int j = (int) ((random & 0xFF) % (i + 1));
+            random >>>= 8;
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+
+    private static int bounded(long random, int bound) {
+        return (int) (((random >>> 32) * bound) >>> 32);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,376 @@
+package com.quiz.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * In-memory home of running attempt sessions. Sessions share a fixed array
+ * of striped locks instead of owning one each. Autosaved answers only flip
+ * bits in the session; a background flusher collects the changed answers of
+ * all dirty sessions every flush-interval-ms and writes them to
+ * {@code attempt_answers} in JDBC batches, so repeated saves of the same
+ * question between flushes cost one row. New sessions get their
+ * {@code attempts} row in the same flushes, and finished ones have both
+ * deleted, so at startup the rows describe exactly the sessions that were
+ * still running and {@link #restore} brings them back.
+ */
+@Component
+public class AttemptStore {
+
+    private static final Logger log = LoggerFactory.getLogger(AttemptStore.class);
+
+    private static final String DELETE_SQL =
+            "DELETE FROM attempt_answers WHERE attempt_id = ? AND question_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO attempt_answers (attempt_id, question_id, answer) VALUES (?, ?, ?)";
+    private static final String INSERT_ATTEMPT_SQL =
+            "INSERT INTO attempts (id, user_id, user_name, quiz_version_id, started_at, expires_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_ANSWERS_SQL = "DELETE FROM attempt_answers WHERE attempt_id = ?";
+    private static final String DELETE_ATTEMPT_SQL = "DELETE FROM attempts WHERE id = ?";
+
+    @Value("${quiz.attempts.lock-stripes:256}")
+    private int stripeCount;
+
+    @Value("${quiz.attempts.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${quiz.attempts.flush-batch-size:1000}")
+    private int flushBatchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Long, AttemptSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, AttemptSession> activeByUserAndQuiz = new ConcurrentHashMap<>();
+    private final Queue<AttemptSession> dirty = new ConcurrentLinkedQueue<>();
+    // Submitted or expired sessions whose rows are still to be deleted
+    private final Queue<Long> finished = new ConcurrentLinkedQueue<>();
+
+    private ReentrantLock[] stripes;
+    private ScheduledExecutorService flusher;
+
+    // Flusher-owned row buffers, reused between flushes
+    private long[] rowAttempts = new long[1024];
+    private long[] rowQuestions = new long[1024];
+    private byte[] rowAnswers = new byte[1024];
+    private int[] rowIndexes = new int[1024];
+    private AttemptSession[] rowSessions = new AttemptSession[1024];
+    private final List<AttemptSession> newSessions = new ArrayList<>();
+    private final List<Long> finishedIds = new ArrayList<>();
+
+    @PostConstruct
+    public void start() {
+        int size = Integer.highestOneBit(Math.max(stripeCount, 2) - 1) << 1;
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attempt-answer-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public AttemptSession get(Long attemptId) {
+        return attemptId == null ? null : sessions.get(attemptId);
+    }
+
+    // Returns the running session of this user on this quiz, creating one if there is none
+    AttemptSession activeOrCreate(Long userId, Long quizId, Supplier<AttemptSession> creator) {
+        return activeByUserAndQuiz.compute(userId + ":" + quizId, (key, existing) -> {
+            if (existing != null && existing.getStatus() == AttemptSession.Status.ACTIVE) {
+                return existing;
+            }
+            AttemptSession created = creator.get();
+            sessions.put(created.getId(), created);
+            // Not visible to other threads yet, so no lock is needed to queue its attempts row
+            created.setQueuedForFlush(true);
+            dirty.add(created);
+            return created;
+        });
+    }
+
+    // The running session of this user on this quiz, or null if there is none
+    AttemptSession active(Long userId, Long quizId) {
+        AttemptSession session = activeByUserAndQuiz.get(userId + ":" + quizId);
+        return session != null && session.getStatus() == AttemptSession.Status.ACTIVE ? session : null;
+    }
+
+    void remove(AttemptSession session) {
+        sessions.remove(session.getId());
+        activeByUserAndQuiz.remove(session.getUserId() + ":" + session.getQuizId(), session);
+        finished.add(session.getId());
+    }
+
+    /**
+     * Loads the sessions that were running when the application stopped, with
+     * the answers flushed for them. Sessions whose quiz version cannot be
+     * loaded any more are dropped, and so are finished ones whose rows were
+     * still there: those with a stored result or one in {@code submitted}.
+     * Called once at startup, before any new session exists.
+     */
+    List<AttemptSession> restore(LongFunction<AnswerKey> answerKeys, Set<Long> submitted) {
+        jdbcTemplate.update("DELETE FROM attempt_answers WHERE attempt_id NOT IN (SELECT id FROM attempts)");
+        List<AttemptSession> restored = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT a.id, a.user_id, a.user_name, a.quiz_version_id, a.started_at, a.expires_at, "
+                        + "EXISTS (SELECT 1 FROM results r WHERE r.attempt_id = a.id) AS has_result FROM attempts a",
+                rs -> {
+                    long id = rs.getLong("id");
+                    if (rs.getBoolean("has_result") || submitted.contains(id)) {
+                        finished.add(id);
+                        return;
+                    }
+                    AnswerKey answerKey;
+                    try {
+                        answerKey = answerKeys.apply(rs.getLong("quiz_version_id"));
+                    } catch (RuntimeException e) {
+                        log.warn("Dropping attempt {}: its quiz version could not be loaded", id, e);
+                        finished.add(id);
+                        return;
+                    }
+                    AttemptSession session = new AttemptSession(id, rs.getLong("user_id"), rs.getString("user_name"),
+                            answerKey, rs.getTimestamp("started_at").getTime(), rs.getTimestamp("expires_at").getTime());
+                    session.setStored(true);
+                    sessions.put(id, session);
+                    activeByUserAndQuiz.put(session.getUserId() + ":" + session.getQuizId(), session);
+                    restored.add(session);
+                });
+        jdbcTemplate.query("SELECT attempt_id, question_id, answer FROM attempt_answers", rs -> {
+            AttemptSession session = sessions.get(rs.getLong("attempt_id"));
+            if (session != null) {
+                int index = session.getAnswerKey().indexOf(rs.getLong("question_id"));
+                if (index >= 0) {
+                    session.restoreAnswer(index, rs.getByte("answer"));
+                }
+            }
+        });
+        return restored;
+    }
+
+    ReentrantLock lockFor(AttemptSession session) {
+        long id = session.getId();
+        int hash = (int) (id ^ (id >>> 32));
+        hash ^= hash >>> 16;
+        return stripes[hash & (stripes.length - 1)];
+    }
+
+    // Caller holds the session's stripe lock
+    void markDirty(AttemptSession session) {
+        if (!session.isQueuedForFlush()) {
+            session.setQueuedForFlush(true);
+            dirty.add(session);
+        }
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public int getDirtyCount() {
+        return dirty.size();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Flushing autosaved answers failed; will retry", e);
+        }
+    }
+
+    private void flush() {
+        int rows = 0;
+        AttemptSession session;
+        while ((session = dirty.poll()) != null) {
+            ReentrantLock lock = lockFor(session);
+            lock.lock();
+            try {
+                session.setQueuedForFlush(false);
+                long[] changed = session.changed();
+                if (session.getStatus() != AttemptSession.Status.ACTIVE) {
+                    // Finished sessions only need their rows deleted
+                    Arrays.fill(changed, 0);
+                    continue;
+                }
+                if (!session.isStored()) {
+                    session.setStored(true);
+                    newSessions.add(session);
+                }
+                byte[] answers = session.answers();
+                for (int word = 0; word < changed.length; word++) {
+                    long bits = changed[word];
+                    while (bits != 0) {
+                        int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                        ensureCapacity(rows + 1);
+                        rowAttempts[rows] = session.getId();
+                        rowQuestions[rows] = session.getAnswerKey().getQuestionId(index);
+                        rowAnswers[rows] = answers[index];
+                        rowIndexes[rows] = index;
+                        rowSessions[rows] = session;
+                        rows++;
+                    }
+                    changed[word] = 0;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        // Drained after the answers, so rows collected above are deleted in this flush at the latest
+        Long finishedId;
+        while ((finishedId = finished.poll()) != null) {
+            finishedIds.add(finishedId);
+        }
+        if (rows == 0 && newSessions.isEmpty() && finishedIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            write(rows);
+        } catch (RuntimeException e) {
+            // Mark everything changed again so the next flush retries it
+            for (AttemptSession created : newSessions) {
+                requeueNew(created);
+            }
+            for (int i = 0; i < rows; i++) {
+                requeue(rowSessions[i], rowIndexes[i]);
+            }
+            finished.addAll(finishedIds);
+            throw e;
+        } finally {
+            Arrays.fill(rowSessions, 0, rows, null);
+            newSessions.clear();
+            finishedIds.clear();
+        }
+    }
+
+    private void requeueNew(AttemptSession session) {
+        ReentrantLock lock = lockFor(session);
+        lock.lock();
+        try {
+            session.setStored(false);
+            markDirty(session);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void requeue(AttemptSession session, int index) {
+        ReentrantLock lock = lockFor(session);
+        lock.lock();
+        try {
+            session.markChanged(index);
+            markDirty(session);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(int rows) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (!newSessions.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ATTEMPT_SQL, newSessions, flushBatchSize, (ps, session) -> {
+                    ps.setLong(1, session.getId());
+                    ps.setLong(2, session.getUserId());
+                    ps.setString(3, session.getUserName());
+                    ps.setLong(4, session.getAnswerKey().getVersionId());
+                    ps.setTimestamp(5, new Timestamp(session.getStartedAtMillis()));
+                    ps.setTimestamp(6, new Timestamp(session.getExpiresAtMillis()));
+                });
+            }
+            for (int from = 0; from < rows; from += flushBatchSize) {
+                int offset = from;
+                int count = Math.min(flushBatchSize, rows - from);
+                jdbcTemplate.batchUpdate(DELETE_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, rowAttempts[offset + i]);
+                        ps.setLong(2, rowQuestions[offset + i]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                });
+                jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, rowAttempts[offset + i]);
+                        ps.setLong(2, rowQuestions[offset + i]);
+                        ps.setByte(3, rowAnswers[offset + i]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                });
+            }
+            if (!finishedIds.isEmpty()) {
+                jdbcTemplate.batchUpdate(DELETE_ANSWERS_SQL, finishedIds, flushBatchSize,
+                        (ps, id) -> ps.setLong(1, id));
+                jdbcTemplate.batchUpdate(DELETE_ATTEMPT_SQL, finishedIds, flushBatchSize,
+                        (ps, id) -> ps.setLong(1, id));
+            }
+        });
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows > rowAttempts.length) {
+            int size = Math.max(rows, rowAttempts.length * 2);
+            rowAttempts = Arrays.copyOf(rowAttempts, size);
+            rowQuestions = Arrays.copyOf(rowQuestions, size);
+            rowAnswers = Arrays.copyOf(rowAnswers, size);
+            rowIndexes = Arrays.copyOf(rowIndexes, size);
+            rowSessions = Arrays.copyOf(rowSessions, size);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+            flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Final flush of autosaved answers failed", e);
+        }
+    }
+}
@@ -6,6 +6,8 @@ import com.quiz.backend.dto.SignupRequest;
 import com.quiz.backend.model.User;
 import com.quiz.backend.repository.UserRepository;
 import com.quiz.backend.security.JwtTokenProvider;
+import com.quiz.backend.security.UserPrincipal;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -13,6 +15,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class AuthService {
@@ -21,36 +25,45 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final StudentStatsService studentStatsService;
+    private final TransactionTemplate transactionTemplate;
 
     public AuthService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
                        AuthenticationManager authenticationManager,
-                       JwtTokenProvider jwtTokenProvider) {
+                       JwtTokenProvider jwtTokenProvider,
+                       PasswordHashingExecutor passwordHashingExecutor,
+                       StudentStatsService studentStatsService,
+                       PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.studentStatsService = studentStatsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     // ================= LOGIN =================
+    @Timed(value = "quiz.auth.login", histogram = true)
     public JwtResponse login(LoginRequest loginRequest) {
 
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            loginRequest.getEmail().toLowerCase().trim(),
-                            loginRequest.getPassword()
-                    )
-            );
+            // One user read and one hash, on the bounded hashing pool
+            Authentication authentication = passwordHashingExecutor.run(() ->
+                    authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(
+                                    loginRequest.getEmail().toLowerCase().trim(),
+                                    loginRequest.getPassword()
+                            )
+                    ));
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
             String jwt = jwtTokenProvider.generateToken(authentication);
 
-            User user = userRepository.findByEmail(
-                    loginRequest.getEmail().toLowerCase().trim()
-            ).orElseThrow(() ->
-                    new RuntimeException("User not found"));
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
 
             return new JwtResponse(
                     jwt,
@@ -77,7 +90,8 @@ public class AuthService {
         User user = new User();
         user.setName(signupRequest.getName());
         user.setEmail(email);
-        user.setPassword(passwordEncoder.encode(signupRequest.getPassword()));
+        user.setPassword(passwordHashingExecutor.run(() ->
+                passwordEncoder.encode(signupRequest.getPassword())));
 
         // Make sure role is valid
         try {
@@ -88,7 +102,12 @@ public class AuthService {
             throw new RuntimeException("Invalid role. Use STUDENT or ADMIN");
         }
 
-        userRepository.save(user);
+        // The user and its stats row commit together; the hash above is computed
+        // outside the transaction so no connection waits on it
+        transactionTemplate.executeWithoutResult(status -> {
+            User saved = userRepository.save(user);
+            studentStatsService.register(saved.getId(), saved.getCreatedAt());
+        });
 
         return "User registered successfully";
     }
@@ -0,0 +1,115 @@
+package com.quiz.backend.service;
+
+import com.quiz.backend.dto.ItemAnalysisResponse;
+import com.quiz.backend.repository.ResultRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Per-question difficulty, discrimination and distractor counts. All
+ * statistics come from one pass over the recorded responses of a quiz,
+ * accumulated in primitive arrays indexed by question position, so memory
+ * does not grow with the number of attempts. Questions left out of an
+ * attempt that drew a subset do not count towards that question.
+ */
+@Service
+public class ItemAnalysisService {
+
+    private static final int OPTIONS = 4;
+
+    @Autowired
+    private AnswerKeyCache answerKeyCache;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public ItemAnalysisResponse analyze(Long quizId) {
+        AnswerKey answerKey = answerKeyCache.get(quizId);
+        int questions = answerKey.getQuestionCount();
+        byte[] correctOptions = new byte[questions];
+        for (int i = 0; i < questions; i++) {
+            correctOptions[i] = answerKey.getCorrectOption(i);
+        }
+
+        long[] presented = new long[questions];
+        long[] presentedTotals = new long[questions];
+        long[] correctCounts = new long[questions];
+        long[] correctTotals = new long[questions];
+        long[] optionCounts = new long[questions * OPTIONS];
+        long[] unanswered = new long[questions];
+        long[] totals = new long[3]; // attempts, sum of scores, sum of squared scores
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<byte[]> rows = resultRepository.streamResponses(quizId, answerKey.getLayout())) {
+                rows.forEach(responses -> {
+                    int length = Math.min(responses.length, questions);
+                    int correct = 0;
+                    for (int i = 0; i < length; i++) {
+                        if (responses[i] != AnswerKey.NO_ANSWER && responses[i] == correctOptions[i]) {
+                            correct++;
+                        }
+                    }
+                    for (int i = 0; i < questions; i++) {
+                        byte option = i < length ? responses[i] : AnswerKey.NO_ANSWER;
+                        if (option == AnswerKey.NOT_PRESENTED) {
+                            continue;
+                        }
+                        presented[i]++;
+                        presentedTotals[i] += correct;
+                        if (option >= 0 && option < OPTIONS) {
+                            optionCounts[i * OPTIONS + option]++;
+                        } else {
+                            unanswered[i]++;
+                        }
+                        if (option != AnswerKey.NO_ANSWER && option == correctOptions[i]) {
+                            correctCounts[i]++;
+                            correctTotals[i] += correct;
+                        }
+                    }
+                    totals[0]++;
+                    totals[1] += correct;
+                    totals[2] += (long) correct * correct;
+                });
+            }
+        });
+
+        long attempts = totals[0];
+        double mean = attempts == 0 ? 0 : (double) totals[1] / attempts;
+        double variance = attempts == 0 ? 0 : (double) totals[2] / attempts - mean * mean;
+        double deviation = Math.sqrt(Math.max(variance, 0));
+
+        List<ItemAnalysisResponse.Item> items = new ArrayList<>(questions);
+        for (int i = 0; i < questions; i++) {
+            Double pValue = null;
+            Double discrimination = null;
+            if (presented[i] > 0) {
+                double p = (double) correctCounts[i] / presented[i];
+                pValue = p;
+                long incorrect = presented[i] - correctCounts[i];
+                if (correctCounts[i] > 0 && incorrect > 0 && deviation > 0) {
+                    double meanCorrect = (double) correctTotals[i] / correctCounts[i];
+                    double meanIncorrect = (double) (presentedTotals[i] - correctTotals[i]) / incorrect;
+                    discrimination = (meanCorrect - meanIncorrect) / deviation * Math.sqrt(p * (1 - p));
+                }
+            }
+            long[] counts = new long[OPTIONS];
+            System.arraycopy(optionCounts, i * OPTIONS, counts, 0, OPTIONS);
+            items.add(new ItemAnalysisResponse.Item(answerKey.getQuestionId(i), correctOptions[i], presented[i],
+                    pValue, discrimination, counts, unanswered[i]));
+        }
+
+        long skipped = Math.max(0, resultRepository.countByQuizId(quizId) - attempts);
+        return new ItemAnalysisResponse(quizId, answerKey.getQuizTitle(), attempts, skipped, mean, items);
+    }
+}
@@ -0,0 +1,137 @@
+package com.quiz.backend.service;
+
+import com.quiz.backend.dto.LeaderboardResponse;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-quiz leaderboards holding each student's best attempt in an
+ * {@link OrderStatisticTree}, so top-N and a student's rank are O(log n).
+ * Every quiz has its own read/write lock; submissions to different quizzes
+ * never contend. Filled from live submissions and, at startup, from the
+ * replayed result history.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 100;
+
+    // Higher score first, then faster, then earlier; user id keeps entries distinct
+    private static final Comparator<Standing> RANKING = Comparator
+            .comparingInt((Standing s) -> -s.score)
+            .thenComparingInt(s -> s.timeTaken)
+            .thenComparing(s -> s.completedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(s -> s.userId);
+
+    private final Map<Long, QuizBoard> boards = new ConcurrentHashMap<>();
+
+    @EventListener
+    @Order(1)
+    public void onResultSubmitted(ResultSubmittedEvent event) {
+        if (event.getQuizId() == null || event.getUserId() == null) {
+            return;
+        }
+        Standing standing = new Standing(event.getUserId(), event.getUserName(), event.getScore(),
+                event.getTimeTaken(), event.getCompletedAt());
+        boards.computeIfAbsent(event.getQuizId(), id -> new QuizBoard()).offer(standing);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        if (event.isDeleted()) {
+            boards.remove(event.getQuizId());
+        }
+    }
+
+    public LeaderboardResponse getLeaderboard(Long quizId, Long userId, Integer limit) {
+        int max = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        QuizBoard board = boards.get(quizId);
+        if (board == null) {
+            return new LeaderboardResponse(quizId, 0, new ArrayList<>(), null);
+        }
+        return board.read(quizId, userId, max);
+    }
+
+    private static final class QuizBoard {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final OrderStatisticTree<Standing> ranking = new OrderStatisticTree<>(RANKING);
+        private final Map<Long, Standing> bestByUser = new HashMap<>();
+
+        private void offer(Standing standing) {
+            lock.writeLock().lock();
+            try {
+                Standing current = bestByUser.get(standing.userId);
+                if (current != null) {
+                    if (!standing.beats(current)) {
+                        return;
+                    }
+                    ranking.remove(current);
+                }
+                bestByUser.put(standing.userId, standing);
+                ranking.add(standing);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private LeaderboardResponse read(Long quizId, Long userId, int limit) {
+            lock.readLock().lock();
+            try {
+                int participants = ranking.size();
+                List<LeaderboardResponse.Entry> top = new ArrayList<>();
+                int rank = 0;
+                for (Standing standing : ranking.first(limit)) {
+                    top.add(new LeaderboardResponse.Entry(++rank, standing.userId, standing.userName,
+                            standing.score, standing.reportedTimeTaken(), standing.completedAt));
+                }
+
+                LeaderboardResponse.Standing me = null;
+                Standing mine = userId == null ? null : bestByUser.get(userId);
+                if (mine != null) {
+                    int myRank = ranking.rank(mine);
+                    double percentile = Math.round((participants - myRank + 1) * 1000.0 / participants) / 10.0;
+                    me = new LeaderboardResponse.Standing(myRank, percentile, mine.score, mine.reportedTimeTaken());
+                }
+                return new LeaderboardResponse(quizId, participants, top, me);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    private static final class Standing {
+        private final Long userId;
+        private final String userName;
+        private final int score;
+        private final int timeTaken; // Integer.MAX_VALUE when unknown, so it sorts last
+        private final LocalDateTime completedAt;
+
+        private Standing(Long userId, String userName, int score, Integer timeTaken, LocalDateTime completedAt) {
+            this.userId = userId;
+            this.userName = userName;
+            this.score = score;
+            this.timeTaken = timeTaken == null ? Integer.MAX_VALUE : timeTaken;
+            this.completedAt = completedAt;
+        }
+
+        private boolean beats(Standing other) {
+            return score > other.score || (score == other.score && timeTaken < other.timeTaken);
+        }
+
+        private Integer reportedTimeTaken() {
+            return timeTaken == Integer.MAX_VALUE ? null : timeTaken;
+        }
+    }
+}
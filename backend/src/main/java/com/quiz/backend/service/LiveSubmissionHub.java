@@ -0,0 +1,283 @@
+package com.quiz.backend.service;
+
+import com.quiz.backend.dto.LiveQuizEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fans accepted submissions out to live proctor streams. Publishing only
+ * drops the event into each subscriber's bounded buffer; a sender thread
+ * does the socket writes. A subscriber that falls behind loses its oldest
+ * buffered submissions (the aggregate is latest-wins and never lost) and is
+ * disconnected once it has dropped max-dropped events in a row.
+ * <p>
+ * A send blocks until the client reads, so the sender pool grows past
+ * sender-threads rather than queueing one subscriber's drain behind another's;
+ * a subscriber drains on at most one thread at a time. One whose send has been
+ * stuck for send-timeout-ms is evicted and gets no further work, leaving only
+ * the blocked thread to finish when the connection gives up.
+ */
+@Component
+public class LiveSubmissionHub {
+
+    @Value("${quiz.live.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${quiz.live.max-dropped:1000}")
+    private int maxDropped;
+
+    @Value("${quiz.live.sender-threads:2}")
+    private int senderThreads;
+
+    @Value("${quiz.live.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${quiz.live.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${quiz.live.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private ExecutorService senders;
+    private ScheduledExecutorService heartbeats;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        senders = new ThreadPoolExecutor(senderThreads, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "live-sse-sender-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        heartbeats.scheduleWithFixedDelay(this::evictStalled, 1, 1, TimeUnit.SECONDS);
+    }
+
+    public SseEmitter subscribe(Long quizId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(quizId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        subscribers.computeIfAbsent(quizId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.pendingAggregate.set(aggregate(quizId));
+        schedule(subscriber);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @EventListener
+    @Order(2)
+    public void onResultSubmitted(ResultSubmittedEvent event) {
+        if (event.isReplay()) {
+            return;
+        }
+        Set<Subscriber> watching = subscribers.get(event.getQuizId());
+        if (watching == null || watching.isEmpty()) {
+            return;
+        }
+
+        LiveQuizEvent.Submission submission = new LiveQuizEvent.Submission(event.getQuizId(),
+                event.getUserId(), event.getUserName(), event.getScore(), event.getTimeTaken(),
+                event.getCompletedAt());
+        LiveQuizEvent.Aggregate aggregate = aggregate(event.getQuizId());
+        for (Subscriber subscriber : watching) {
+            subscriber.offer(submission, aggregate);
+            schedule(subscriber);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        if (!event.isDeleted()) {
+            return;
+        }
+        Set<Subscriber> watching = subscribers.remove(event.getQuizId());
+        if (watching != null) {
+            watching.forEach(Subscriber::close);
+        }
+    }
+
+    private LiveQuizEvent.Aggregate aggregate(Long quizId) {
+        ScoreStats.Totals totals = analyticsService.getQuizTotals(quizId);
+        return new LiveQuizEvent.Aggregate(quizId, totals.getAttempts(), totals.getAverageScore(),
+                totals.getPassRate(), totals.getHistogram(), 0);
+    }
+
+    private void heartbeat() {
+        for (Set<Subscriber> watching : subscribers.values()) {
+            for (Subscriber subscriber : watching) {
+                subscriber.heartbeatDue = true;
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void evictStalled() {
+        long now = System.nanoTime();
+        long timeout = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (Set<Subscriber> watching : subscribers.values()) {
+            for (Subscriber subscriber : watching) {
+                long started = subscriber.sendStartedAt;
+                if (started != 0 && now - started > timeout) {
+                    subscriber.close();
+                }
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                senders.execute(subscriber::drain);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                remove(subscriber);
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed.set(true);
+        Set<Subscriber> watching = subscribers.get(subscriber.quizId);
+        if (watching != null) {
+            watching.remove(subscriber);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeats.shutdownNow();
+        subscribers.values().forEach(watching -> watching.forEach(Subscriber::close));
+        subscribers.clear();
+        senders.shutdown();
+    }
+
+    private final class Subscriber {
+        private final Long quizId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<LiveQuizEvent.Submission> buffer;
+        private final AtomicReference<LiveQuizEvent.Aggregate> pendingAggregate = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicInteger droppedInARow = new AtomicInteger();
+        private volatile boolean heartbeatDue;
+        private volatile long sendStartedAt;
+
+        private Subscriber(Long quizId, SseEmitter emitter) {
+            this.quizId = quizId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void offer(LiveQuizEvent.Submission submission, LiveQuizEvent.Aggregate aggregate) {
+            while (!buffer.offer(submission)) {
+                if (buffer.poll() != null) {
+                    dropped.incrementAndGet();
+                    if (droppedInARow.incrementAndGet() >= maxDropped) {
+                        close();
+                        return;
+                    }
+                }
+            }
+            pendingAggregate.set(aggregate);
+        }
+
+        private void drain() {
+            try {
+                do {
+                    if (closed.get()) {
+                        complete();
+                        return;
+                    }
+                    LiveQuizEvent.Submission submission;
+                    while ((submission = buffer.poll()) != null) {
+                        send(SseEmitter.event().name("submission").data(submission));
+                    }
+                    droppedInARow.set(0);
+
+                    LiveQuizEvent.Aggregate aggregate = pendingAggregate.getAndSet(null);
+                    if (aggregate != null) {
+                        // The pending aggregate is shared by all subscribers; stamp a copy
+                        send(SseEmitter.event().name("aggregate").data(new LiveQuizEvent.Aggregate(
+                                aggregate.getQuizId(), aggregate.getAttempts(), aggregate.getAverageScore(),
+                                aggregate.getPassRate(), aggregate.getHistogram(), dropped.get())));
+                    }
+                    if (heartbeatDue) {
+                        heartbeatDue = false;
+                        send(SseEmitter.event().comment("keep-alive"));
+                    }
+                    scheduled.set(false);
+                } while (hasWork() && scheduled.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                scheduled.set(false);
+                remove(this);
+                complete();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            if (closed.get()) {
+                return;
+            }
+            sendStartedAt = System.nanoTime();
+            try {
+                emitter.send(event);
+            } finally {
+                sendStartedAt = 0;
+            }
+        }
+
+        private boolean hasWork() {
+            return closed.get() || !buffer.isEmpty() || pendingAggregate.get() != null || heartbeatDue;
+        }
+
+        // The emitter's send and complete share a monitor, so the caller would
+        // block behind a stuck send; a sender completes the emitter instead
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                remove(this);
+                schedule(this);
+            }
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (RuntimeException ignored) {
+                // connection already gone
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.quiz.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Treap whose nodes carry subtree sizes, giving O(log n) insert, remove and
+ * rank lookups and O(log n + k) for the first k elements. Elements must be
+ * distinct under the comparator. Not thread-safe; callers guard it.
+ */
+public final class OrderStatisticTree<T> {
+
+    private final Comparator<? super T> comparator;
+    private Node<T> root;
+
+    public OrderStatisticTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public void add(T value) {
+        root = insert(root, new Node<>(value, ThreadLocalRandom.current().nextInt()));
+    }
+
+    public boolean remove(T value) {
+        int before = size(root);
+        root = delete(root, value);
+        return size(root) < before;
+    }
+
+    // 1-based position of value, or -1 if absent
+    public int rank(T value) {
+        int smaller = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(value, node.value);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                smaller += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return smaller + size(node.left) + 1;
+            }
+        }
+        return -1;
+    }
+
+    public List<T> first(int limit) {
+        List<T> out = new ArrayList<>(Math.min(limit, size()));
+        collect(root, limit, out);
+        return out;
+    }
+
+    private void collect(Node<T> node, int limit, List<T> out) {
+        if (node == null || out.size() >= limit) {
+            return;
+        }
+        collect(node.left, limit, out);
+        if (out.size() < limit) {
+            out.add(node.value);
+            collect(node.right, limit, out);
+        }
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> fresh) {
+        if (node == null) {
+            return fresh;
+        }
+        if (comparator.compare(fresh.value, node.value) < 0) {
+            node.left = insert(node.left, fresh);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, fresh);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node<T> delete(Node<T> node, T value) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = comparator.compare(value, node.value);
+        if (cmp < 0) {
+            node.left = delete(node.left, value);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, value);
+        } else {
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<T> {
+        private final T value;
+        private final int priority;
+        private Node<T> left;
+        private Node<T> right;
+        private int size = 1;
+
+        private Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = 1 + OrderStatisticTree.size(left) + OrderStatisticTree.size(right);
+        }
+    }
+}
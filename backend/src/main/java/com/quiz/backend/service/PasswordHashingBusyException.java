@@ -0,0 +1,12 @@
+package com.quiz.backend.service;
+
+/**
+ * Thrown when the password hashing pool is full or a hash waited too long for
+ * a thread; the client is expected to retry shortly.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
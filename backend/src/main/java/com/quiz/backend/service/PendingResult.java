@@ -0,0 +1,130 @@
+package com.quiz.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * A scored attempt that has been journaled but not yet written to the
+ * {@code results} table.
+ */
+public final class PendingResult {
+
+    private long sequence;
+    private Long submissionId;
+    private final Long userId;
+    private final Long quizId;
+    private final int score;
+    private final int totalQuestions;
+    private final int correctAnswers;
+    private final Integer timeTaken;
+    private final LocalDateTime completedAt;
+    private final byte[] responses;
+    private final Integer responseLayout;
+    private final Long quizVersionId;
+    private final Long attemptId;
+
+    public PendingResult(Long userId, Long quizId, int score, int totalQuestions,
+                         int correctAnswers, Integer timeTaken, LocalDateTime completedAt) {
+        this(userId, quizId, score, totalQuestions, correctAnswers, timeTaken, completedAt, null, null, null);
+    }
+
+    public PendingResult(Long userId, Long quizId, int score, int totalQuestions,
+                         int correctAnswers, Integer timeTaken, LocalDateTime completedAt,
+                         byte[] responses, Integer responseLayout, Long quizVersionId) {
+        this(userId, quizId, score, totalQuestions, correctAnswers, timeTaken, completedAt,
+                responses, responseLayout, quizVersionId, null);
+    }
+
+    public PendingResult(Long userId, Long quizId, int score, int totalQuestions,
+                         int correctAnswers, Integer timeTaken, LocalDateTime completedAt,
+                         byte[] responses, Integer responseLayout, Long quizVersionId, Long attemptId) {
+        this.userId = userId;
+        this.quizId = quizId;
+        this.score = score;
+        this.totalQuestions = totalQuestions;
+        this.correctAnswers = correctAnswers;
+        this.timeTaken = timeTaken;
+        this.completedAt = completedAt;
+        this.responses = responses;
+        this.responseLayout = responseLayout;
+        this.quizVersionId = quizVersionId;
+        this.attemptId = attemptId;
+    }
+
+    // ===== JOURNAL FORMAT =====
+    // A,<sequence>,<userId>,<quizId>,<score>,<total>,<correct>,<timeTaken>,<completedAt>,
+    //   <layout>,<base64 responses>,<quizVersionId>,<submissionId>,<attemptId>
+    // Entries written before responses (9 fields), versions (11), submission ids (12)
+    // or attempt ids (13) are still read.
+
+    String toJournalLine() {
+        boolean withResponses = responses != null && responseLayout != null;
+        return "A," + sequence + "," + userId + "," + quizId + "," + score + ","
+                + totalQuestions + "," + correctAnswers + ","
+                + (timeTaken == null ? "" : timeTaken) + "," + completedAt + ","
+                + (withResponses ? responseLayout : "") + ","
+                + (withResponses ? Base64.getEncoder().encodeToString(responses) : "") + ","
+                + (quizVersionId == null ? "" : quizVersionId) + ","
+                + (submissionId == null ? "" : submissionId) + ","
+                + (attemptId == null ? "" : attemptId);
+    }
+
+    static PendingResult fromJournalLine(String line) {
+        String[] parts = line.split(",", -1);
+        if ((parts.length < 9 || parts.length == 10 || parts.length > 14) || !"A".equals(parts[0])) {
+            throw new IllegalArgumentException("Malformed journal entry: " + line);
+        }
+        boolean withResponses = parts.length >= 11 && !parts[9].isEmpty();
+        boolean withVersion = parts.length >= 12 && !parts[11].isEmpty();
+        PendingResult result = new PendingResult(
+                Long.valueOf(parts[2]),
+                Long.valueOf(parts[3]),
+                Integer.parseInt(parts[4]),
+                Integer.parseInt(parts[5]),
+                Integer.parseInt(parts[6]),
+                parts[7].isEmpty() ? null : Integer.valueOf(parts[7]),
+                LocalDateTime.parse(parts[8]),
+                withResponses ? Base64.getDecoder().decode(parts[10]) : null,
+                withResponses ? Integer.valueOf(parts[9]) : null,
+                withVersion ? Long.valueOf(parts[11]) : null,
+                parts.length == 14 && !parts[13].isEmpty() ? Long.valueOf(parts[13]) : null
+        );
+        result.sequence = Long.parseLong(parts[1]);
+        if (parts.length >= 13 && !parts[12].isEmpty()) {
+            result.submissionId = Long.valueOf(parts[12]);
+        }
+        return result;
+    }
+
+    // ===== GETTERS =====
+
+    public long getSequence() { return sequence; }
+
+    void setSequence(long sequence) { this.sequence = sequence; }
+
+    public Long getSubmissionId() { return submissionId; }
+
+    void setSubmissionId(Long submissionId) { this.submissionId = submissionId; }
+
+    public Long getUserId() { return userId; }
+
+    public Long getQuizId() { return quizId; }
+
+    public int getScore() { return score; }
+
+    public int getTotalQuestions() { return totalQuestions; }
+
+    public int getCorrectAnswers() { return correctAnswers; }
+
+    public Integer getTimeTaken() { return timeTaken; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+
+    public byte[] getResponses() { return responses; }
+
+    public Integer getResponseLayout() { return responseLayout; }
+
+    public Long getQuizVersionId() { return quizVersionId; }
+
+    public Long getAttemptId() { return attemptId; }
+}
@@ -0,0 +1,82 @@
+package com.quiz.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.backend.dto.QuizSummary;
+import com.quiz.backend.repository.QuizRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory snapshot of the active quiz catalog, served to every student on
+ * every quiz list load. The snapshot is immutable and swapped as a whole:
+ * a quiz change drops it after commit and the next reader rebuilds it with a
+ * single projection query. The JSON body and its ETag are computed once per
+ * snapshot.
+ */
+@Component
+public class QuizCatalog {
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+    private final AtomicLong generation = new AtomicLong();
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        // A change committed while we were querying leaves the result uninstalled
+        long startedAt = generation.get();
+        Snapshot rebuilt = build(quizRepository.findActiveSummaries());
+        if (generation.get() == startedAt) {
+            snapshot = rebuilt;
+        }
+        return rebuilt;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot build(List<QuizSummary> quizzes) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(quizzes);
+            String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+            return new Snapshot(List.copyOf(quizzes), json, etag);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize quiz catalog", e);
+        }
+    }
+
+    public static final class Snapshot {
+        private final List<QuizSummary> quizzes;
+        private final byte[] json;
+        private final String etag;
+
+        private Snapshot(List<QuizSummary> quizzes, byte[] json, String etag) {
+            this.quizzes = quizzes;
+            this.json = json;
+            this.etag = etag;
+        }
+
+        public List<QuizSummary> getQuizzes() { return quizzes; }
+
+        public byte[] getJson() { return json; }
+
+        public String getEtag() { return etag; }
+    }
+}
@@ -0,0 +1,20 @@
+package com.quiz.backend.service;
+
+/**
+ * Published by {@link QuizService} whenever a quiz is created, updated or
+ * deleted. Listeners that keep read models should react after commit.
+ */
+public class QuizChangedEvent {
+
+    private final Long quizId;
+    private final boolean deleted;
+
+    public QuizChangedEvent(Long quizId, boolean deleted) {
+        this.quizId = quizId;
+        this.deleted = deleted;
+    }
+
+    public Long getQuizId() { return quizId; }
+
+    public boolean isDeleted() { return deleted; }
+}
@@ -0,0 +1,255 @@
+package com.quiz.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.backend.model.Question;
+import com.quiz.backend.model.Quiz;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Pulls quizzes one at a time off an import stream, so the upload is never
+ * held in memory as a whole. A malformed record comes back as an error and
+ * reading carries on with the next one.
+ */
+abstract class QuizImportReader implements Closeable {
+
+    protected final BufferedReader reader;
+    protected long lineNumber;
+
+    protected QuizImportReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    static QuizImportReader ndjson(InputStream input, ObjectMapper objectMapper) {
+        return new Ndjson(input, objectMapper);
+    }
+
+    static QuizImportReader csv(InputStream input) throws IOException {
+        return new Csv(input);
+    }
+
+    // Null at end of input
+    abstract Record next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    static final class Record {
+        private final long line;
+        private final Quiz quiz;
+        private final String error;
+
+        private Record(long line, Quiz quiz, String error) {
+            this.line = line;
+            this.quiz = quiz;
+            this.error = error;
+        }
+
+        long getLine() { return line; }
+
+        Quiz getQuiz() { return quiz; }
+
+        String getError() { return error; }
+    }
+
+    /** One quiz per line, in the same shape POST /api/quizzes accepts. */
+    private static final class Ndjson extends QuizImportReader {
+
+        private final ObjectMapper objectMapper;
+
+        private Ndjson(InputStream input, ObjectMapper objectMapper) {
+            super(input);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Record next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new Record(lineNumber, objectMapper.readValue(line, Quiz.class), null);
+                } catch (JsonProcessingException e) {
+                    return new Record(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * One question per row under a header row. Consecutive rows with the same
+     * title belong to the same quiz; the quiz columns are taken from its first row.
+     */
+    private static final class Csv extends QuizImportReader {
+
+        private static final String[] COLUMNS = {
+                "title", "description", "category", "difficulty", "duration_minutes",
+                "question", "option1", "option2", "option3", "option4", "correct_answer"
+        };
+
+        private final Map<String, Integer> header = new HashMap<>();
+        private List<String> pending;
+        private long pendingLine;
+
+        private Csv(InputStream input) throws IOException {
+            super(input);
+            List<String> names = readRow();
+            if (names == null) {
+                return;
+            }
+            for (int i = 0; i < names.size(); i++) {
+                header.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String column : COLUMNS) {
+                if (!header.containsKey(column)) {
+                    throw new IllegalArgumentException("CSV header is missing column: " + column);
+                }
+            }
+            pending = readRow();
+            pendingLine = lineNumber;
+        }
+
+        @Override
+        Record next() throws IOException {
+            if (pending == null) {
+                return null;
+            }
+
+            long firstLine = pendingLine;
+            List<String> first = pending;
+            Quiz quiz = new Quiz();
+            String error = null;
+            long errorLine = firstLine;
+            try {
+                quiz.setTitle(column(first, "title"));
+                quiz.setDescription(column(first, "description"));
+                quiz.setCategory(column(first, "category"));
+                quiz.setDifficulty(column(first, "difficulty"));
+                quiz.setDurationMinutes(integer(first, "duration_minutes"));
+            } catch (NumberFormatException e) {
+                error = e.getMessage();
+            }
+
+            String title = column(first, "title");
+            while (pending != null && sameQuiz(title, column(pending, "title"))) {
+                if (error == null) {
+                    try {
+                        quiz.addQuestion(question(pending));
+                    } catch (NumberFormatException e) {
+                        error = e.getMessage();
+                        errorLine = pendingLine;
+                    }
+                }
+                pending = readRow();
+                pendingLine = lineNumber;
+            }
+
+            return error == null ? new Record(firstLine, quiz, null) : new Record(errorLine, null, error);
+        }
+
+        private static boolean sameQuiz(String title, String other) {
+            return title == null ? other == null : title.equals(other);
+        }
+
+        private Question question(List<String> row) {
+            Question question = new Question();
+            question.setQuestion(column(row, "question"));
+            question.setOption1(column(row, "option1"));
+            question.setOption2(column(row, "option2"));
+            question.setOption3(column(row, "option3"));
+            question.setOption4(column(row, "option4"));
+            question.setCorrectAnswer(integer(row, "correct_answer"));
+            return question;
+        }
+
+        private String column(List<String> row, String name) {
+            int index = header.get(name);
+            if (index >= row.size()) {
+                return null;
+            }
+            String value = row.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private Integer integer(List<String> row, String name) {
+            String value = column(row, name);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Integer.valueOf(value);
+            } catch (NumberFormatException e) {
+                throw new NumberFormatException(name + " is not a number: " + value);
+            }
+        }
+
+        // RFC 4180: quoted fields may hold commas, doubled quotes and line breaks
+        private List<String> readRow() throws IOException {
+            String line = reader.readLine();
+            while (line != null && line.isBlank()) {
+                lineNumber++;
+                line = reader.readLine();
+            }
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                for (int i = 0; i < line.length(); i++) {
+                    char c = line.charAt(i);
+                    if (quoted) {
+                        if (c == '"') {
+                            if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                                field.append('"');
+                                i++;
+                            } else {
+                                quoted = false;
+                            }
+                        } else {
+                            field.append(c);
+                        }
+                    } else if (c == '"') {
+                        quoted = true;
+                    } else if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (!quoted) {
+                    break;
+                }
+                line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                lineNumber++;
+                field.append('\n');
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.quiz.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.backend.dto.ImportReport;
+import com.quiz.backend.model.Question;
+import com.quiz.backend.model.Quiz;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk quiz import. Quizzes are read one at a time from the upload,
+ * validated, and written in chunks of roughly chunk-size questions, each
+ * chunk in its own transaction with batched inserts. A failed chunk is rolled
+ * back and reported; the import carries on with the next one.
+ */
+@Service
+public class QuizImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(QuizImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    @Value("${quiz.import.chunk-size:2000}")
+    private int chunkSize;
+
+    @Value("${quiz.import.jdbc-batch-size:100}")
+    private int jdbcBatchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QuizVersionService quizVersionService;
+
+    // format is "csv" or "ndjson"
+    public ImportReport importQuizzes(InputStream input, String format) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        ImportReport report = new ImportReport();
+        report.setFormat(format);
+
+        List<QuizImportReader.Record> chunk = new ArrayList<>();
+        int chunkQuestions = 0;
+
+        try (QuizImportReader reader = "csv".equals(format)
+                ? QuizImportReader.csv(input)
+                : QuizImportReader.ndjson(input, objectMapper)) {
+            QuizImportReader.Record record;
+            while ((record = reader.next()) != null) {
+                String problem = record.getError() != null ? record.getError() : validate(record.getQuiz());
+                if (problem != null) {
+                    report.setQuizzesRejected(report.getQuizzesRejected() + 1);
+                    addError(report, record.getLine(), problem);
+                    continue;
+                }
+
+                prepare(record.getQuiz());
+                chunk.add(record);
+                chunkQuestions += record.getQuiz().getQuestions().size();
+                if (chunkQuestions >= chunkSize) {
+                    persistChunk(chunk, report);
+                    chunk.clear();
+                    chunkQuestions = 0;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            addError(report, 1, e.getMessage());
+        }
+
+        if (!chunk.isEmpty()) {
+            persistChunk(chunk, report);
+        }
+
+        report.setElapsedMs(System.currentTimeMillis() - startedAt);
+        return report;
+    }
+
+    private void persistChunk(List<QuizImportReader.Record> chunk, ImportReport report) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            int questions = transaction.execute(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+                int count = 0;
+                for (QuizImportReader.Record record : chunk) {
+                    Quiz quiz = record.getQuiz();
+                    for (Question question : quiz.getQuestions()) {
+                        question.setQuiz(quiz);
+                    }
+                    entityManager.persist(quiz);
+                    count += quiz.getQuestions().size();
+                }
+                entityManager.flush();
+                for (QuizImportReader.Record record : chunk) {
+                    quizVersionService.publish(record.getQuiz());
+                }
+                entityManager.flush();
+                // Read models pick these up once the chunk commits
+                for (QuizImportReader.Record record : chunk) {
+                    eventPublisher.publishEvent(new QuizChangedEvent(record.getQuiz().getId(), false));
+                }
+                entityManager.clear();
+                return count;
+            });
+            report.setQuizzesImported(report.getQuizzesImported() + chunk.size());
+            report.setQuestionsImported(report.getQuestionsImported() + questions);
+            report.setChunksCommitted(report.getChunksCommitted() + 1);
+        } catch (RuntimeException e) {
+            log.warn("Import chunk starting at line {} failed", chunk.get(0).getLine(), e);
+            report.setChunksFailed(report.getChunksFailed() + 1);
+            report.setQuizzesRejected(report.getQuizzesRejected() + chunk.size());
+            addError(report, chunk.get(0).getLine(), "Chunk of " + chunk.size()
+                    + " quizzes rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    // Returns the reason the quiz cannot be imported, or null if it can
+    static String validate(Quiz quiz) {
+        if (isBlank(quiz.getTitle())) {
+            return "Title is required";
+        }
+        if (quiz.getDurationMinutes() != null && quiz.getDurationMinutes() <= 0) {
+            return "Duration must be positive";
+        }
+        if (quiz.getQuestions() == null || quiz.getQuestions().isEmpty()) {
+            return "Quiz has no questions";
+        }
+        for (int i = 0; i < quiz.getQuestions().size(); i++) {
+            Question question = quiz.getQuestions().get(i);
+            if (isBlank(question.getQuestion())) {
+                return "Question " + (i + 1) + " has no text";
+            }
+            if (isBlank(question.getOption1()) || isBlank(question.getOption2())) {
+                return "Question " + (i + 1) + " needs at least two options";
+            }
+            // correctAnswer is the 0-based index of an option that has text
+            Integer correct = question.getCorrectAnswer();
+            if (correct == null || correct < 0 || correct >= AnswerKey.MAX_OPTIONS
+                    || isBlank(option(question, correct))) {
+                return "Question " + (i + 1) + " has no valid correct answer";
+            }
+        }
+        return null;
+    }
+
+    // Imported quizzes are always new: ids in the upload would make persist()
+    // fail with a detached entity and roll back the whole chunk
+    static void prepare(Quiz quiz) {
+        quiz.setId(null);
+        quiz.setCurrentVersionId(null);
+        for (Question question : quiz.getQuestions()) {
+            question.setId(null);
+        }
+    }
+
+    private static String option(Question question, int index) {
+        return switch (index) {
+            case 0 -> question.getOption1();
+            case 1 -> question.getOption2();
+            case 2 -> question.getOption3();
+            default -> question.getOption4();
+        };
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static void addError(ImportReport report, long line, String message) {
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new ImportReport.ImportError(line, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+}
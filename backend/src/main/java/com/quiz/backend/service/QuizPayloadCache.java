@@ -0,0 +1,142 @@
+package com.quiz.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.quiz.backend.dto.PublishedQuiz;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Student-facing payload of each quiz's current version, serialized once per
+ * version into every representation it is served in (JSON or CBOR, plain or
+ * gzipped), each with a strong ETag. An exam start that sends the same quiz
+ * to thousands of students costs two map lookups per request. The answer key
+ * is never part of the payload, and quizzes with questionsPerAttempt set get
+ * metadata only: their questions come from /api/attempts/{id}/questions.
+ */
+@Component
+public class QuizPayloadCache {
+
+    public enum Format { JSON, CBOR }
+
+    @Autowired
+    private AnswerKeyCache answerKeyCache;
+
+    @Autowired
+    private QuizVersionService quizVersionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // By version id; versions never change, so entries only go when their quiz does
+    private final Map<Long, Payload> payloads = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public Payload get(Long quizId) {
+        AnswerKey answerKey = answerKeyCache.get(quizId);
+        if (!answerKey.isActive()) {
+            throw new RuntimeException("Quiz is not active");
+        }
+        Payload payload = payloads.get(answerKey.getVersionId());
+        if (payload != null) {
+            hits.increment();
+            return payload;
+        }
+        misses.increment();
+        return payloads.computeIfAbsent(answerKey.getVersionId(), id -> build(quizVersionService.get(id)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        payloads.values().removeIf(payload -> payload.getQuizId().equals(event.getQuizId()));
+    }
+
+    public long getHits() { return hits.sum(); }
+
+    public long getMisses() { return misses.sum(); }
+
+    public int size() { return payloads.size(); }
+
+    private Payload build(QuizSnapshot snapshot) {
+        // A quiz that draws a subset per attempt would give away its whole pool;
+        // its questions are only served per attempt
+        List<PublishedQuiz.Item> items = new ArrayList<>();
+        if (snapshot.getQuestionsPerAttempt() <= 0) {
+            for (QuizSnapshot.Item question : snapshot.getQuestions()) {
+                items.add(new PublishedQuiz.Item(question.getId(), question.getQuestion(), question.getOptions()));
+            }
+        }
+        PublishedQuiz quiz = new PublishedQuiz(snapshot.getQuizId(), snapshot.getVersionId(), snapshot.getTitle(),
+                snapshot.getDescription(), snapshot.getCategory(), snapshot.getDifficulty(),
+                snapshot.getDurationMinutes(), snapshot.getQuestionsPerAttempt(), items);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(quiz);
+            byte[] cbor = objectMapper.copyWith(new CBORFactory()).writeValueAsBytes(quiz);
+            return new Payload(snapshot.getQuizId(), new Body[]{
+                    new Body(json), new Body(gzip(json)), new Body(cbor), new Body(gzip(cbor))});
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize quiz " + snapshot.getQuizId(), e);
+        }
+    }
+
+    // Compressed once per version, so the slowest level is worth it
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static final class Payload {
+        private final Long quizId;
+        // JSON, gzipped JSON, CBOR, gzipped CBOR
+        private final Body[] bodies;
+
+        private Payload(Long quizId, Body[] bodies) {
+            this.quizId = quizId;
+            this.bodies = bodies;
+        }
+
+        public Long getQuizId() { return quizId; }
+
+        public Body get(Format format, boolean gzip) {
+            return bodies[format.ordinal() * 2 + (gzip ? 1 : 0)];
+        }
+    }
+
+    public static final class Body {
+        private final byte[] bytes;
+        private final String etag;
+
+        private Body(byte[] bytes) {
+            this.bytes = bytes;
+            this.etag = "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+        }
+
+        public byte[] getBytes() { return bytes; }
+
+        public String getEtag() { return etag; }
+    }
+}
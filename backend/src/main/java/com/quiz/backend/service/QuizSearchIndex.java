@@ -0,0 +1,286 @@
+package com.quiz.backend.service;
+
+import com.quiz.backend.dto.QuizSummary;
+import com.quiz.backend.repository.QuizRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over quiz title, description, category and
+ * difficulty. Loaded once at startup and then kept current one quiz at a
+ * time from {@link QuizChangedEvent}s.
+ *
+ * Query terms match indexed tokens by prefix; every term has to match. Hits
+ * are ranked by field weight (title over category/difficulty over
+ * description), with whole-token matches counting double.
+ */
+@Component
+public class QuizSearchIndex {
+
+    private static final int TITLE_WEIGHT = 4;
+    private static final int FACET_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    // token -> quiz id -> summed field weight
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<String, Set<Long>> byCategory = new HashMap<>();
+    private final Map<String, Set<Long>> byDifficulty = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializes loads so they apply in commit order
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        updateLock.lock();
+        try {
+            List<Object[]> rows = readOnly().execute(status -> quizRepository.findSearchRows());
+            lock.writeLock().lock();
+            try {
+                documents.clear();
+                postings.clear();
+                byCategory.clear();
+                byDifficulty.clear();
+                for (Object[] row : rows) {
+                    add(Document.fromRow(row));
+                }
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            Document document = event.isDeleted() ? null : readOnly().execute(status ->
+                    quizRepository.findSearchRow(event.getQuizId()).stream()
+                            .findFirst().map(Document::fromRow).orElse(null));
+            lock.writeLock().lock();
+            try {
+                remove(event.getQuizId());
+                if (document != null) {
+                    add(document);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    // Null filters are ignored; active == null means any state
+    public List<QuizSummary> search(String category, String difficulty, String query, Boolean active, int limit) {
+        List<String> terms = tokenize(query);
+
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = null;
+            if (category != null && !category.isBlank()) {
+                candidates = byCategory.getOrDefault(normalize(category), Collections.emptySet());
+            }
+            if (difficulty != null && !difficulty.isBlank()) {
+                Set<Long> matches = byDifficulty.getOrDefault(normalize(difficulty), Collections.emptySet());
+                candidates = candidates == null ? matches : intersect(candidates, matches);
+            }
+
+            Map<Long, Integer> scores = null;
+            for (String term : terms) {
+                Map<Long, Integer> termScores = new HashMap<>();
+                for (Map.Entry<String, Map<Long, Integer>> entry
+                        : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                    boolean exact = entry.getKey().equals(term);
+                    for (Map.Entry<Long, Integer> posting : entry.getValue().entrySet()) {
+                        if (candidates != null && !candidates.contains(posting.getKey())) {
+                            continue;
+                        }
+                        int score = exact ? posting.getValue() * 2 : posting.getValue();
+                        termScores.merge(posting.getKey(), score, Math::max);
+                    }
+                }
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Integer> current = scores;
+                    termScores.keySet().retainAll(current.keySet());
+                    termScores.replaceAll((id, score) -> score + current.get(id));
+                    scores = termScores;
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            Collection<Long> ids = scores != null ? scores.keySet()
+                    : candidates != null ? candidates : documents.keySet();
+            Map<Long, Integer> ranking = scores;
+
+            List<Document> hits = new ArrayList<>();
+            for (Long id : ids) {
+                Document document = documents.get(id);
+                if (document != null && (active == null || document.active == active)) {
+                    hits.add(document);
+                }
+            }
+            hits.sort((a, b) -> {
+                if (ranking != null) {
+                    int byScore = Integer.compare(ranking.get(b.summary.getId()), ranking.get(a.summary.getId()));
+                    if (byScore != 0) {
+                        return byScore;
+                    }
+                }
+                return Long.compare(a.summary.getId(), b.summary.getId());
+            });
+
+            List<QuizSummary> results = new ArrayList<>(Math.min(limit, hits.size()));
+            for (int i = 0; i < hits.size() && i < limit; i++) {
+                results.add(hits.get(i).summary);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Document document) {
+        Long id = document.summary.getId();
+        documents.put(id, document);
+        document.weights.forEach((token, weight) ->
+                postings.computeIfAbsent(token, t -> new HashMap<>()).put(id, weight));
+        if (document.category != null) {
+            byCategory.computeIfAbsent(document.category, c -> new HashSet<>()).add(id);
+        }
+        if (document.difficulty != null) {
+            byDifficulty.computeIfAbsent(document.difficulty, d -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String token : document.weights.keySet()) {
+            Map<Long, Integer> posting = postings.get(token);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+        removeFacet(byCategory, document.category, id);
+        removeFacet(byDifficulty, document.difficulty, id);
+    }
+
+    private static void removeFacet(Map<String, Set<Long>> facet, String value, Long id) {
+        if (value == null) {
+            return;
+        }
+        Set<Long> ids = facet.get(value);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                facet.remove(value);
+            }
+        }
+    }
+
+    private static Set<Long> intersect(Set<Long> a, Set<Long> b) {
+        Set<Long> smaller = a.size() <= b.size() ? a : b;
+        Set<Long> larger = smaller == a ? b : a;
+        Set<Long> result = new HashSet<>();
+        for (Long id : smaller) {
+            if (larger.contains(id)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static final class Document {
+        private final QuizSummary summary;
+        private final boolean active;
+        private final String category;
+        private final String difficulty;
+        private final Map<String, Integer> weights = new HashMap<>();
+
+        private Document(QuizSummary summary, boolean active) {
+            this.summary = summary;
+            this.active = active;
+            this.category = normalize(summary.getCategory());
+            this.difficulty = normalize(summary.getDifficulty());
+            index(summary.getTitle(), TITLE_WEIGHT);
+            index(summary.getCategory(), FACET_WEIGHT);
+            index(summary.getDifficulty(), FACET_WEIGHT);
+            index(summary.getDescription(), DESCRIPTION_WEIGHT);
+        }
+
+        // Row layout matches QuizRepository.findSearchRows
+        private static Document fromRow(Object[] row) {
+            QuizSummary summary = new QuizSummary((Long) row[0], (String) row[1], (String) row[2],
+                    (String) row[3], (String) row[4], (Integer) row[5], (Long) row[7]);
+            return new Document(summary, !Boolean.FALSE.equals(row[6]));
+        }
+
+        private void index(String text, int weight) {
+            for (String token : tokenize(text)) {
+                weights.merge(token, weight, Math::max);
+            }
+        }
+    }
+}
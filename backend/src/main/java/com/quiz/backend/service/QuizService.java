@@ -1,9 +1,13 @@
 package com.quiz.backend.service;
 
+import com.quiz.backend.dto.QuizSummary;
 import com.quiz.backend.model.Question;
 import com.quiz.backend.model.Quiz;
 import com.quiz.backend.repository.QuizRepository;
+import com.quiz.backend.repository.ResultRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,22 +16,56 @@ import java.util.List;
 @Service
 public class QuizService {
     
+    private static final int DEFAULT_SEARCH_LIMIT = 50;
+    private static final int MAX_SEARCH_LIMIT = 500;
+    
     @Autowired
     private QuizRepository quizRepository;
     
+    @Autowired
+    private AnswerKeyCache answerKeyCache;
+    
+    @Autowired
+    private QuizVersionService quizVersionService;
+    
+    @Autowired
+    private ResultRepository resultRepository;
+    
+    @Autowired
+    private QuizCatalog quizCatalog;
+    
+    @Autowired
+    private QuizPayloadCache quizPayloadCache;
+    
+    @Autowired
+    private QuizSearchIndex quizSearchIndex;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Transactional(readOnly = true)
     public List<Quiz> getAllQuizzes() {
         return quizRepository.findAll();
     }
     
-    public List<Quiz> getActiveQuizzes() {
-        return quizRepository.findByIsActiveTrue();
+    public QuizCatalog.Snapshot getCatalog() {
+        return quizCatalog.getSnapshot();
+    }
+    
+    public QuizPayloadCache.Payload getQuizPayload(Long id) {
+        return quizPayloadCache.get(id);
     }
     
+    @Transactional(readOnly = true)
     public Quiz getQuizById(Long id) {
         return quizRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Quiz not found with id: " + id));
     }
     
+    public QuizSnapshot getQuizVersion(Long versionId) {
+        return quizVersionService.get(versionId);
+    }
+    
     @Transactional
     public Quiz createQuiz(Quiz quiz) {
         // Set quiz reference for all questions
@@ -36,7 +74,11 @@ public class QuizService {
                 question.setQuiz(quiz);
             }
         }
-        return quizRepository.save(quiz);
+        Quiz saved = quizRepository.save(quiz);
+        quizVersionService.publish(saved);
+        answerKeyCache.invalidate(saved.getId());
+        eventPublisher.publishEvent(new QuizChangedEvent(saved.getId(), false));
+        return saved;
     }
     
     @Transactional
@@ -49,20 +91,45 @@ public class QuizService {
         quiz.setDifficulty(quizDetails.getDifficulty());
         quiz.setDurationMinutes(quizDetails.getDurationMinutes());
         quiz.setIsActive(quizDetails.getIsActive());
+        quiz.setQuestionsPerAttempt(quizDetails.getQuestionsPerAttempt());
         
-        return quizRepository.save(quiz);
+        // Running attempts keep the version they started on
+        Quiz saved = quizRepository.save(quiz);
+        quizVersionService.publish(saved);
+        answerKeyCache.invalidate(id);
+        eventPublisher.publishEvent(new QuizChangedEvent(id, false));
+        return saved;
     }
     
-    public void deleteQuiz(Long id) {
+    // Quizzes with results are deactivated instead; returns whether the quiz was deleted
+    @Transactional
+    public boolean deleteQuiz(Long id) {
         Quiz quiz = getQuizById(id);
-        quizRepository.delete(quiz);
+        boolean deleted = !resultRepository.existsByQuizId(id);
+        if (deleted) {
+            quizRepository.delete(quiz);
+        } else {
+            quiz.setIsActive(false);
+            quizVersionService.publish(quiz);
+        }
+        answerKeyCache.invalidate(id);
+        eventPublisher.publishEvent(new QuizChangedEvent(id, deleted));
+        return deleted;
     }
     
-    public List<Quiz> getQuizzesByCategory(String category) {
-        return quizRepository.findByCategory(category);
+    // Served by the in-memory index once loaded, by the database until then
+    @Transactional(readOnly = true)
+    public List<QuizSummary> searchQuizzes(String category, String difficulty, String query, Boolean active, Integer limit) {
+        int max = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        if (quizSearchIndex.isReady()) {
+            return quizSearchIndex.search(category, difficulty, query, active, max);
+        }
+        String pattern = query == null || query.isBlank() ? null : "%" + query.trim().toLowerCase() + "%";
+        return quizRepository.searchSummaries(blankToNull(category), blankToNull(difficulty), active,
+                pattern, PageRequest.of(0, max));
     }
     
-    public List<Quiz> getQuizzesByDifficulty(String difficulty) {
-        return quizRepository.findByDifficulty(difficulty);
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
     }
 }
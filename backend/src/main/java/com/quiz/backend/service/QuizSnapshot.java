@@ -0,0 +1,221 @@
+package com.quiz.backend.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.quiz.backend.model.Question;
+import com.quiz.backend.model.Quiz;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Decoded, immutable form of a {@link com.quiz.backend.model.QuizVersion}.
+ * Questions are ordered by id, so question i lines up with position i of
+ * the {@link AnswerKey} built from the same snapshot.
+ *
+ * The stored form is a small binary layout written with DataOutputStream:
+ * a format byte, the quiz settings, then per question its id, text, four
+ * nullable options and the correct option.
+ */
+public final class QuizSnapshot {
+
+    private static final byte FORMAT = 1;
+
+    private final Long versionId;
+    private final Long quizId;
+    private final int versionNumber;
+    private final String title;
+    private final String description;
+    private final String category;
+    private final String difficulty;
+    private final Integer durationMinutes;
+    private final boolean active;
+    private final int questionsPerAttempt;
+    private final List<Item> questions;
+    private final AnswerKey answerKey;
+
+    private QuizSnapshot(Long versionId, Long quizId, int versionNumber, String title, String description,
+                         String category, String difficulty, Integer durationMinutes, boolean active,
+                         int questionsPerAttempt, List<Item> questions) {
+        this.versionId = versionId;
+        this.quizId = quizId;
+        this.versionNumber = versionNumber;
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.difficulty = difficulty;
+        this.durationMinutes = durationMinutes;
+        this.active = active;
+        this.questionsPerAttempt = questionsPerAttempt;
+        this.questions = Collections.unmodifiableList(questions);
+
+        long[] questionIds = new long[questions.size()];
+        byte[] correctOptions = new byte[questions.size()];
+        byte[] optionCounts = new byte[questions.size()];
+        for (int i = 0; i < questions.size(); i++) {
+            Item item = questions.get(i);
+            questionIds[i] = item.id;
+            correctOptions[i] = item.correctOption;
+            optionCounts[i] = (byte) item.getOptionCount();
+        }
+        this.answerKey = new AnswerKey(quizId, versionId, title, category, durationMinutes, active,
+                questionsPerAttempt, questionIds, correctOptions, optionCounts);
+    }
+
+    // Encodes the current state of a quiz whose questions have been assigned ids
+    public static byte[] encode(Quiz quiz, int versionNumber) {
+        List<Question> questions = new ArrayList<>(quiz.getQuestions());
+        questions.sort(Comparator.comparing(Question::getId));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + questions.size() * 128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            out.writeLong(quiz.getId());
+            out.writeInt(versionNumber);
+            writeString(out, quiz.getTitle());
+            writeString(out, quiz.getDescription());
+            writeString(out, quiz.getCategory());
+            writeString(out, quiz.getDifficulty());
+            out.writeInt(quiz.getDurationMinutes() == null ? -1 : quiz.getDurationMinutes());
+            out.writeBoolean(!Boolean.FALSE.equals(quiz.getIsActive()));
+            out.writeInt(quiz.getQuestionsPerAttempt() == null ? 0 : quiz.getQuestionsPerAttempt());
+            out.writeInt(questions.size());
+            for (Question question : questions) {
+                out.writeLong(question.getId());
+                writeString(out, question.getQuestion());
+                writeString(out, question.getOption1());
+                writeString(out, question.getOption2());
+                writeString(out, question.getOption3());
+                writeString(out, question.getOption4());
+                out.writeByte(AnswerKey.toOption(question.getCorrectAnswer()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static QuizSnapshot decode(Long versionId, byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte format = in.readByte();
+            if (format != FORMAT) {
+                throw new IllegalStateException("Unknown quiz snapshot format " + format);
+            }
+            Long quizId = in.readLong();
+            int versionNumber = in.readInt();
+            String title = readString(in);
+            String description = readString(in);
+            String category = readString(in);
+            String difficulty = readString(in);
+            int duration = in.readInt();
+            boolean active = in.readBoolean();
+            int questionsPerAttempt = in.readInt();
+            int count = in.readInt();
+            List<Item> questions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                String text = readString(in);
+                String[] options = {readString(in), readString(in), readString(in), readString(in)};
+                questions.add(new Item(id, text, options, in.readByte()));
+            }
+            return new QuizSnapshot(versionId, quizId, versionNumber, title, description, category, difficulty,
+                    duration < 0 ? null : duration, active, questionsPerAttempt, questions);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    public Long getVersionId() { return versionId; }
+
+    public Long getQuizId() { return quizId; }
+
+    public int getVersionNumber() { return versionNumber; }
+
+    public String getTitle() { return title; }
+
+    public String getDescription() { return description; }
+
+    public String getCategory() { return category; }
+
+    public String getDifficulty() { return difficulty; }
+
+    public Integer getDurationMinutes() { return durationMinutes; }
+
+    public boolean isActive() { return active; }
+
+    public int getQuestionsPerAttempt() { return questionsPerAttempt; }
+
+    public List<Item> getQuestions() { return questions; }
+
+    @JsonIgnore
+    public AnswerKey getAnswerKey() { return answerKey; }
+
+    public static final class Item {
+
+        private final long id;
+        private final String question;
+        private final String[] options;
+        private final byte correctOption;
+        private final int optionCount;
+
+        private Item(long id, String question, String[] options, byte correctOption) {
+            this.id = id;
+            this.question = question;
+            this.options = options;
+            this.correctOption = correctOption;
+            // Options up to the last non-null one are shown
+            int count = options.length;
+            while (count > 1 && options[count - 1] == null) {
+                count--;
+            }
+            this.optionCount = count;
+        }
+
+        public long getId() { return id; }
+
+        public String getQuestion() { return question; }
+
+        // Options present on the question, in their original order
+        public List<String> getOptions() {
+            List<String> present = new ArrayList<>(AnswerKey.MAX_OPTIONS);
+            for (int i = 0; i < optionCount; i++) {
+                present.add(options[i]);
+            }
+            return present;
+        }
+
+        public String getOption(int index) { return options[index]; }
+
+        public int getCorrectOption() { return correctOption; }
+
+        public int getOptionCount() { return optionCount; }
+    }
+}
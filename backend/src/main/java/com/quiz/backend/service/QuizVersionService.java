@@ -0,0 +1,91 @@
+package com.quiz.backend.service;
+
+import com.quiz.backend.model.Quiz;
+import com.quiz.backend.model.QuizVersion;
+import com.quiz.backend.repository.QuizRepository;
+import com.quiz.backend.repository.QuizVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes quiz versions and serves their snapshots. A version never
+ * changes once written, so decoded snapshots are cached for the life of the
+ * process and read without locks or database access.
+ */
+@Service
+public class QuizVersionService {
+
+    @Autowired
+    private QuizVersionRepository quizVersionRepository;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Long, QuizSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Appends a version with the quiz's current state and points the quiz at
+     * it. Must run in the transaction that saved the quiz, after its questions
+     * have ids.
+     */
+    public QuizVersion publish(Quiz quiz) {
+        // New quizzes skip the lookup so bulk imports are not flushed once per quiz
+        int number = quiz.getCurrentVersionId() == null ? 1
+                : quizVersionRepository.findLatestVersionNumber(quiz.getId()) + 1;
+        return publish(quiz, number);
+    }
+
+    private QuizVersion publish(Quiz quiz, int number) {
+        QuizVersion version = quizVersionRepository.save(
+                new QuizVersion(quiz.getId(), number, QuizSnapshot.encode(quiz, number)));
+        quiz.setCurrentVersionId(version.getId());
+        return version;
+    }
+
+    public QuizSnapshot get(Long versionId) {
+        if (versionId == null) {
+            throw new RuntimeException("Quiz version id is required");
+        }
+        QuizSnapshot snapshot = snapshots.get(versionId);
+        if (snapshot != null) {
+            hits.increment();
+            return snapshot;
+        }
+        misses.increment();
+        return snapshots.computeIfAbsent(versionId, id -> {
+            QuizVersion version = quizVersionRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Quiz version not found with id: " + id));
+            return QuizSnapshot.decode(version.getId(), version.getSnapshot());
+        });
+    }
+
+    public long getHits() { return hits.sum(); }
+
+    public long getMisses() { return misses.sum(); }
+
+    public int size() { return snapshots.size(); }
+
+    // Latest version of a quiz; quizzes saved before versioning get their first one here
+    public QuizSnapshot current(Long quizId) {
+        Long versionId = new TransactionTemplate(transactionManager).execute(status -> {
+            Quiz quiz = quizRepository.findById(quizId)
+                    .orElseThrow(() -> new RuntimeException("Quiz not found with id: " + quizId));
+            if (quiz.getCurrentVersionId() == null) {
+                publish(quiz, quizVersionRepository.findLatestVersionNumber(quizId) + 1);
+            }
+            return quiz.getCurrentVersionId();
+        });
+        return get(versionId);
+    }
+}
@@ -0,0 +1,104 @@
+package com.quiz.backend.service;
+
+import com.quiz.backend.repository.ResultRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cold-start rebuild of the in-memory result read models. Streams every row of
+ * the {@code results} table once, in a background thread, and republishes it
+ * as a {@link ResultSubmittedEvent} with the replay flag set.
+ *
+ * The cutoff is taken before the web server starts, so rows from live
+ * submissions (which are published as they are accepted) are never counted twice.
+ */
+@Component
+public class ResultHistoryReplayer {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultHistoryReplayer.class);
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    @Autowired
+    private ResultIngestionPipeline resultIngestionPipeline;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private LocalDateTime cutoff;
+    private volatile boolean complete;
+
+    @PostConstruct
+    public void markCutoff() {
+        cutoff = LocalDateTime.now();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replay() {
+        Thread thread = new Thread(this::streamHistory, "result-history-replay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    private void streamHistory() {
+        try {
+            if (!resultIngestionPipeline.awaitRecovered(1, TimeUnit.MINUTES)) {
+                log.warn("Journal replay still running, rebuilding read models without it");
+            }
+
+            long start = System.nanoTime();
+            long[] rows = new long[1];
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Object[]> history = resultRepository.streamHistory(cutoff)) {
+                    history.forEach(row -> {
+                        eventPublisher.publishEvent(toEvent(row));
+                        rows[0]++;
+                    });
+                }
+            });
+            complete = true;
+            log.info("Replayed {} results in {} ms", rows[0],
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Rebuilding result read models failed", e);
+        }
+    }
+
+    private ResultSubmittedEvent toEvent(Object[] row) {
+        return new ResultSubmittedEvent(
+                (Long) row[0],
+                (String) row[1],
+                (Long) row[2],
+                (String) row[3],
+                (String) row[4],
+                row[5] == null ? 0 : (Integer) row[5],
+                (Integer) row[6],
+                (LocalDateTime) row[7],
+                true
+        );
+    }
+}
@@ -0,0 +1,312 @@
+package com.quiz.backend.service;
+
+import com.quiz.backend.model.Quiz;
+import com.quiz.backend.model.Result;
+import com.quiz.backend.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind ingestion of scored attempts.
+ *
+ * Request threads journal the attempt and return; a single drainer thread
+ * persists the queue in multi-row batches. The number of attempts in flight is
+ * capped by {@code quiz.results.queue-capacity}; when the cap is reached for
+ * longer than {@code quiz.results.accept-timeout-ms} the submission is rejected
+ * with {@link SubmissionRejectedException} instead of piling up.
+ *
+ * Each submission gets a key from {@code result_submissions_seq} before it is
+ * journaled. A crash between the insert and the journal's commit mark replays
+ * entries that are already in the database; their rows are found by that key
+ * and skipped.
+ */
+@Component
+@DependsOn("sequenceInitializer")
+public class ResultIngestionPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultIngestionPipeline.class);
+
+    private static final long MAX_RETRY_BACKOFF_MS = 5000;
+
+    // Matches the sequence's increment
+    private static final int SUBMISSION_ID_BLOCK = 50;
+
+    @Value("${quiz.results.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${quiz.results.batch-size:200}")
+    private int batchSize;
+
+    @Value("${quiz.results.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Value("${quiz.results.accept-timeout-ms:200}")
+    private long acceptTimeoutMs;
+
+    @Value("${quiz.results.journal-path:data/results.journal}")
+    private String journalPath;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Injected before start(), so its backfill has run before the first batch is written
+    @Autowired
+    private StudentStatsService studentStatsService;
+
+    private final LinkedBlockingQueue<PendingResult> queue = new LinkedBlockingQueue<>();
+    private final CountDownLatch recovered = new CountDownLatch(1);
+    private long lastRecoveredSequence;
+    private volatile boolean replaying;
+    private Set<Long> replayedAttemptIds = Set.of();
+    private final ReentrantLock submissionIdLock = new ReentrantLock();
+    private long nextSubmissionId;
+    private long submissionIdLimit;
+    private Semaphore capacity;
+    private ResultJournal journal;
+    private TransactionTemplate transactionTemplate;
+    private Thread drainer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() throws IOException {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        journal = ResultJournal.open(Path.of(journalPath));
+
+        // Attempts acknowledged by a previous run go first; they may exceed the capacity
+        List<PendingResult> replay = journal.recover();
+        if (replay.isEmpty()) {
+            recovered.countDown();
+        } else {
+            log.info("Replaying {} journaled submissions", replay.size());
+            lastRecoveredSequence = replay.get(replay.size() - 1).getSequence();
+            replaying = true;
+            replayedAttemptIds = new HashSet<>();
+            for (PendingResult entry : replay) {
+                if (entry.getAttemptId() != null) {
+                    replayedAttemptIds.add(entry.getAttemptId());
+                }
+            }
+            queue.addAll(replay);
+        }
+        capacity = new Semaphore(queueCapacity - replay.size());
+
+        running = true;
+        drainer = new Thread(this::drain, "result-write-behind");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        running = false;
+        drainer.join(TimeUnit.SECONDS.toMillis(30));
+        journal.close();
+    }
+
+    public PendingResult accept(PendingResult result) {
+        result.setSubmissionId(nextSubmissionId());
+        if (!running || !tryAcquire()) {
+            throw new SubmissionRejectedException("Too many submissions in progress, please retry");
+        }
+
+        boolean[] queued = new boolean[1];
+        try {
+            long position = journal.append(result, entry -> queued[0] = queue.add(entry));
+            journal.sync(position);
+            return result;
+        } catch (IOException e) {
+            if (!queued[0]) {
+                capacity.release();
+            }
+            throw new RuntimeException("Could not record submission", e);
+        }
+    }
+
+    private long nextSubmissionId() {
+        submissionIdLock.lock();
+        try {
+            if (nextSubmissionId == submissionIdLimit) {
+                nextSubmissionId = jdbcTemplate.queryForObject("SELECT nextval('result_submissions_seq')", Long.class);
+                submissionIdLimit = nextSubmissionId + SUBMISSION_ID_BLOCK;
+            }
+            return nextSubmissionId++;
+        } finally {
+            submissionIdLock.unlock();
+        }
+    }
+
+    // Attempts whose results came back from the journal at startup, inserted or not
+    public Set<Long> getReplayedAttemptIds() {
+        return replayedAttemptIds;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    // Waits until the entries replayed from the journal at startup are in the database
+    public boolean awaitRecovered(long timeout, TimeUnit unit) throws InterruptedException {
+        return recovered.await(timeout, unit);
+    }
+
+    private boolean tryAcquire() {
+        try {
+            return capacity.tryAcquire(acceptTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drain() {
+        List<PendingResult> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            // Entries taken off the queue give their permits back however the batch ends
+            int size = 0;
+            try {
+                PendingResult first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    journal.truncateIfDrained();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                size = batch.size();
+                long lastSequence = batch.get(size - 1).getSequence();
+                if (!persistWithRetry(batch)) {
+                    // shutting down with the database unreachable; the journal keeps the rest
+                    return;
+                }
+                journal.commit(lastSequence);
+                if (lastSequence >= lastRecoveredSequence) {
+                    replaying = false;
+                    recovered.countDown();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                log.error("Result journal write failed", e);
+            } finally {
+                capacity.release(size);
+                batch.clear();
+            }
+        }
+    }
+
+    private boolean persistWithRetry(List<PendingResult> batch) throws InterruptedException {
+        long backoff = 100;
+        while (true) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<PendingResult> unwritten = replaying ? unwritten(batch) : batch;
+                    unwritten.forEach(this::persist);
+                    studentStatsService.record(unwritten);
+                });
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                // one bad row (e.g. its quiz was deleted) must not block the rest
+                persistIndividually(batch);
+                if (batch.isEmpty()) {
+                    return true;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Persisting {} results failed, retrying in {} ms", batch.size(), backoff, e);
+            }
+            if (!running) {
+                return false;
+            }
+            Thread.sleep(backoff);
+            backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MS);
+        }
+    }
+
+    // Removes every entry that was written or rejected by the database
+    private void persistIndividually(List<PendingResult> batch) {
+        Iterator<PendingResult> iterator = batch.iterator();
+        while (iterator.hasNext()) {
+            PendingResult entry = iterator.next();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    persist(entry);
+                    studentStatsService.record(List.of(entry));
+                });
+                iterator.remove();
+            } catch (DataIntegrityViolationException e) {
+                log.error("Dropping submission {} that violates a constraint: {}",
+                        entry.toJournalLine(), e.getMostSpecificCause().getMessage());
+                iterator.remove();
+            } catch (RuntimeException e) {
+                log.warn("Persisting submission {} failed", entry.getSequence(), e);
+                return;
+            }
+        }
+    }
+
+    // Replayed entries whose insert committed before the crash are left out
+    private List<PendingResult> unwritten(List<PendingResult> batch) {
+        List<Long> ids = batch.stream().map(PendingResult::getSubmissionId).filter(id -> id != null).toList();
+        if (ids.isEmpty()) {
+            return batch;
+        }
+        Set<Long> written = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT submission_id FROM results WHERE submission_id IN ("
+                        + String.join(",", Collections.nCopies(ids.size(), "?")) + ")",
+                Long.class, ids.toArray()));
+        if (written.isEmpty()) {
+            return batch;
+        }
+        log.info("Skipping {} replayed submissions that are already stored", written.size());
+        return batch.stream().filter(entry -> !written.contains(entry.getSubmissionId())).toList();
+    }
+
+    private void persist(PendingResult entry) {
+        Result result = new Result();
+        result.setUser(entityManager.getReference(User.class, entry.getUserId()));
+        result.setQuiz(entityManager.getReference(Quiz.class, entry.getQuizId()));
+        result.setScore(entry.getScore());
+        result.setTotalQuestions(entry.getTotalQuestions());
+        result.setCorrectAnswers(entry.getCorrectAnswers());
+        result.setTimeTaken(entry.getTimeTaken());
+        result.setCompletedAt(entry.getCompletedAt());
+        result.setResponses(entry.getResponses());
+        result.setResponseLayout(entry.getResponseLayout());
+        result.setQuizVersionId(entry.getQuizVersionId());
+        result.setSubmissionId(entry.getSubmissionId());
+        result.setAttemptId(entry.getAttemptId());
+        entityManager.persist(result);
+    }
+}
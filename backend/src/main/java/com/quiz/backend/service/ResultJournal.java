@@ -0,0 +1,185 @@
+package com.quiz.backend.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Append-only local journal backing the result write-behind queue.
+ *
+ * Accepted attempts are appended as "A" lines and become durable through a
+ * group commit: concurrent callers of {@link #sync(long)} share one fsync.
+ * Once a batch is in the database a forced "C" watermark line is written,
+ * and the file is truncated whenever everything appended so far is
+ * committed. On startup the entries after the last watermark are handed
+ * back for replay.
+ */
+public class ResultJournal implements Closeable {
+
+    private final FileChannel channel;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private volatile long writtenPosition;
+    private volatile long syncedPosition;
+
+    // guarded by appendLock
+    private long nextSequence = 1;
+    private long committedSequence;
+
+    private ResultJournal(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    public static ResultJournal open(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new ResultJournal(channel);
+    }
+
+    // Returns the entries that were accepted but never committed, in order
+    public List<PendingResult> recover() throws IOException {
+        List<PendingResult> entries = new ArrayList<>();
+        long watermark = 0;
+        long lastSequence = 0;
+
+        channel.position(0);
+        BufferedReader reader = new BufferedReader(
+                Channels.newReader(channel, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            try {
+                if (line.startsWith("C,")) {
+                    watermark = Math.max(watermark, Long.parseLong(line.substring(2)));
+                } else if (line.startsWith("A,")) {
+                    PendingResult entry = PendingResult.fromJournalLine(line);
+                    entries.add(entry);
+                    lastSequence = Math.max(lastSequence, entry.getSequence());
+                }
+            } catch (RuntimeException e) {
+                // a torn line from a crash mid-write; nothing after it was acknowledged
+            }
+        }
+
+        long committed = watermark;
+        entries.removeIf(entry -> entry.getSequence() <= committed);
+
+        appendLock.lock();
+        try {
+            nextSequence = lastSequence + 1;
+            committedSequence = watermark;
+            channel.position(channel.size());
+            if (channel.size() > 0 && !endsWithNewline()) {
+                write("");
+            }
+            writtenPosition = channel.size();
+            syncedPosition = writtenPosition;
+        } finally {
+            appendLock.unlock();
+        }
+        return entries;
+    }
+
+    /**
+     * Assigns the next sequence number, writes the entry and, still under the
+     * append lock, hands it to {@code afterWrite} so that queue order always
+     * matches journal order. Returns the position to pass to {@link #sync(long)}.
+     */
+    public long append(PendingResult entry, Consumer<PendingResult> afterWrite) throws IOException {
+        appendLock.lock();
+        try {
+            entry.setSequence(nextSequence++);
+            write(entry.toJournalLine());
+            afterWrite.accept(entry);
+            return writtenPosition;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public void sync(long position) throws IOException {
+        if (syncedPosition >= position) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (syncedPosition >= position) {
+                return;
+            }
+            long target = writtenPosition;
+            channel.force(false);
+            syncedPosition = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Records that every entry up to {@code sequence} is in the database. The
+     * watermark is forced to disk before returning: a watermark lost to an OS
+     * crash would replay the batch and insert its results, and count them in
+     * the student stats, a second time. One fsync per drained batch.
+     */
+    public void commit(long sequence) throws IOException {
+        long position;
+        appendLock.lock();
+        try {
+            write("C," + sequence);
+            committedSequence = Math.max(committedSequence, sequence);
+            position = writtenPosition;
+        } finally {
+            appendLock.unlock();
+        }
+        sync(position);
+    }
+
+    public void truncateIfDrained() throws IOException {
+        appendLock.lock();
+        try {
+            if (writtenPosition == 0 || committedSequence < nextSequence - 1) {
+                return;
+            }
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(false);
+            writtenPosition = 0;
+            syncedPosition = 0;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean endsWithNewline() throws IOException {
+        ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, channel.size() - 1);
+        return last.get(0) == '\n';
+    }
+
+    private void write(String line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        writtenPosition = channel.position();
+    }
+}
@@ -1,76 +1,129 @@
 package com.quiz.backend.service;
 
-import com.quiz.backend.dto.QuizAttemptRequest;
-import com.quiz.backend.model.Question;
-import com.quiz.backend.model.Quiz;
+import com.quiz.backend.dto.ResultPage;
+import com.quiz.backend.dto.ResultResponse;
+import com.quiz.backend.dto.ResultSummary;
 import com.quiz.backend.model.Result;
-import com.quiz.backend.model.User;
 import com.quiz.backend.repository.ResultRepository;
-import com.quiz.backend.repository.UserRepository;
+import com.quiz.backend.security.UserPrincipal;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ResultService {
     
+    private static final Logger log = LoggerFactory.getLogger(ResultService.class);
+    
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    
     @Autowired
     private ResultRepository resultRepository;
     
     @Autowired
-    private QuizService quizService;
+    private ResultIngestionPipeline resultIngestionPipeline;
     
     @Autowired
-    private UserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
     
-    public Result submitQuizAttempt(QuizAttemptRequest attemptRequest) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        Quiz quiz = quizService.getQuizById(attemptRequest.getQuizId());
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    // Scores and records an attempt; responses are in answer-key order and must not change afterwards
+    @Timed(value = "quiz.results.submit", histogram = true)
+    public ResultResponse record(Long attemptId, Long userId, String userName, AnswerKey answerKey,
+                                 byte[] responses, Integer timeTaken) {
+        int correctAnswers = answerKey.countCorrect(responses);
+        int totalQuestions = answerKey.countPresented(responses);
+        int score = answerKey.score(correctAnswers, totalQuestions);
         
-        // Calculate score
-        Map<Long, Integer> userAnswers = attemptRequest.getAnswers();
-        int correctAnswers = 0;
-        int totalQuestions = quiz.getQuestions().size();
+        // Journaled now, inserted by the write-behind drainer shortly after
+        PendingResult accepted = resultIngestionPipeline.accept(new PendingResult(
+                userId,
+                answerKey.getQuizId(),
+                score,
+                totalQuestions,
+                correctAnswers,
+                timeTaken,
+                LocalDateTime.now(),
+                responses,
+                answerKey.getLayout(),
+                answerKey.getVersionId(),
+                attemptId
+        ));
         
-        for (Question question : quiz.getQuestions()) {
-            Integer userAnswer = userAnswers.get(question.getId());
-            if (userAnswer != null && userAnswer.equals(question.getCorrectAnswer())) {
-                correctAnswers++;
-            }
+        // The result is journaled now; a failing listener must not make the caller record it again
+        try {
+            eventPublisher.publishEvent(new ResultSubmittedEvent(
+                    userId,
+                    userName,
+                    answerKey.getQuizId(),
+                    answerKey.getQuizTitle(),
+                    answerKey.getCategory(),
+                    score,
+                    accepted.getTimeTaken(),
+                    accepted.getCompletedAt(),
+                    false
+            ));
+        } catch (RuntimeException e) {
+            log.error("Publishing the result of user {} on quiz {} failed", userId, answerKey.getQuizId(), e);
         }
         
-        int score = (int) ((correctAnswers * 100.0) / totalQuestions);
-        
-        Result result = new Result();
-        result.setUser(user);
-        result.setQuiz(quiz);
-        result.setScore(score);
-        result.setTotalQuestions(totalQuestions);
-        result.setCorrectAnswers(correctAnswers);
-        result.setTimeTaken(attemptRequest.getTimeTaken());
-        
-        return resultRepository.save(result);
+        return new ResultResponse(
+                null,
+                answerKey.getQuizId(),
+                answerKey.getQuizTitle(),
+                score,
+                totalQuestions,
+                correctAnswers,
+                accepted.getTimeTaken(),
+                accepted.getCompletedAt()
+        );
     }
     
+    @Transactional(readOnly = true)
     public List<Result> getStudentResults() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        return resultRepository.findByUserIdOrderByCompletedAtDesc(user.getId());
+        return resultRepository.findByUserIdOrderByCompletedAtDesc(UserPrincipal.current().getId());
     }
     
-    public List<Result> getAllResults() {
-        return resultRepository.findAll();
+    // quizId may be null for all quizzes; cursor is the last id of the previous page
+    @Transactional(readOnly = true)
+    public ResultPage getResultPage(Long quizId, Long cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long before = cursor == null ? Long.MAX_VALUE : cursor;
+        PageRequest limit = PageRequest.of(0, pageSize);
+        
+        List<ResultSummary> items = quizId == null
+                ? resultRepository.findSummariesBefore(before, limit)
+                : resultRepository.findSummariesByQuizIdBefore(quizId, before, limit);
+        
+        Long nextCursor = items.size() < pageSize ? null : items.get(items.size() - 1).getId();
+        return new ResultPage(items, nextCursor);
     }
     
-    public List<Result> getResultsByQuizId(Long quizId) {
-        return resultRepository.findByQuizId(quizId);
+    // Hands every row to the consumer while the cursor is open; heap use does not grow with the table
+    public void streamResults(Long quizId, Consumer<ResultSummary> consumer) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ResultSummary> rows = quizId == null
+                    ? resultRepository.streamSummaries()
+                    : resultRepository.streamSummariesByQuizId(quizId)) {
+                rows.forEach(consumer);
+            }
+        });
     }
 }
@@ -0,0 +1,53 @@
+package com.quiz.backend.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published once a scored attempt has been accepted. The same event is
+ * replayed for historical rows at startup (see {@link ResultHistoryReplayer})
+ * so in-memory read models can be rebuilt; {@link #isReplay()} tells them apart.
+ */
+public class ResultSubmittedEvent {
+
+    private final Long userId;
+    private final String userName;
+    private final Long quizId;
+    private final String quizTitle;
+    private final String category;
+    private final int score;
+    private final Integer timeTaken;
+    private final LocalDateTime completedAt;
+    private final boolean replay;
+
+    public ResultSubmittedEvent(Long userId, String userName, Long quizId, String quizTitle,
+                                String category, int score, Integer timeTaken,
+                                LocalDateTime completedAt, boolean replay) {
+        this.userId = userId;
+        this.userName = userName;
+        this.quizId = quizId;
+        this.quizTitle = quizTitle;
+        this.category = category;
+        this.score = score;
+        this.timeTaken = timeTaken;
+        this.completedAt = completedAt;
+        this.replay = replay;
+    }
+
+    public Long getUserId() { return userId; }
+
+    public String getUserName() { return userName; }
+
+    public Long getQuizId() { return quizId; }
+
+    public String getQuizTitle() { return quizTitle; }
+
+    public String getCategory() { return category; }
+
+    public int getScore() { return score; }
+
+    public Integer getTimeTaken() { return timeTaken; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+
+    public boolean isReplay() { return replay; }
+}
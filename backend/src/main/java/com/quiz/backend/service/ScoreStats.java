@@ -0,0 +1,70 @@
+package com.quiz.backend.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free running counters for a group of attempts: count, score sum,
+ * passes and a histogram of 10-point score bands.
+ */
+public class ScoreStats {
+
+    public static final int PASS_SCORE = 60;
+    public static final int BUCKETS = 10;
+
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder scoreSum = new LongAdder();
+    private final LongAdder passes = new LongAdder();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    public static int bucket(int score) {
+        return Math.min(Math.max(score, 0) / 10, BUCKETS - 1);
+    }
+
+    public void record(int score) {
+        attempts.increment();
+        scoreSum.add(score);
+        if (score >= PASS_SCORE) {
+            passes.increment();
+        }
+        histogram.incrementAndGet(bucket(score));
+    }
+
+    public void addTo(Totals totals) {
+        totals.attempts += attempts.sum();
+        totals.scoreSum += scoreSum.sum();
+        totals.passes += passes.sum();
+        for (int i = 0; i < BUCKETS; i++) {
+            totals.histogram[i] += histogram.get(i);
+        }
+    }
+
+    public Totals snapshot() {
+        Totals totals = new Totals();
+        addTo(totals);
+        return totals;
+    }
+
+    /**
+     * Plain, single-threaded sum of one or more {@link ScoreStats}.
+     */
+    public static final class Totals {
+
+        private long attempts;
+        private long scoreSum;
+        private long passes;
+        private final long[] histogram = new long[BUCKETS];
+
+        public long getAttempts() { return attempts; }
+
+        public long[] getHistogram() { return histogram; }
+
+        public int getAverageScore() {
+            return attempts == 0 ? 0 : (int) Math.round((double) scoreSum / attempts);
+        }
+
+        public int getPassRate() {
+            return attempts == 0 ? 0 : (int) Math.round(passes * 100.0 / attempts);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.quiz.backend.service;
+
+import com.quiz.backend.dto.StudentPage;
+import com.quiz.backend.dto.StudentSummary;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Student directory for admins, backed by the student_stats summary table.
+ *
+ * The totals are updated in the same transaction that inserts each result
+ * batch, so listing never aggregates the results table. Pages are keyset
+ * pages on (sort column, user id): the cost of a page does not grow with how
+ * far into the list it is.
+ */
+@Service
+@DependsOn("entityManagerFactory")
+public class StudentStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentStatsService.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    // The first page counts matches up to this many, so the count stays cheap on big directories
+    private static final int MAX_COUNT = 1000;
+
+    private static final String SELECT = "SELECT u.id, u.name, u.email, u.created_at, s.attempts, "
+            + "s.average_score, s.last_active_at FROM student_stats s JOIN users u ON u.id = s.user_id ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${quiz.students.active-days:30}")
+    private int activeDays;
+
+    // Users that predate the summary table get their row from one grouped query over their results
+    @PostConstruct
+    public void backfill() {
+        int created = jdbcTemplate.update(
+                "INSERT INTO student_stats (user_id, attempts, score_sum, average_score, last_active_at) "
+                        + "SELECT u.id, COUNT(r.id), COALESCE(SUM(r.score), 0), COALESCE(AVG(CAST(r.score AS double precision)), 0), "
+                        + "COALESCE(MAX(r.completed_at), u.created_at, CURRENT_TIMESTAMP) "
+                        + "FROM users u LEFT JOIN results r ON r.user_id = u.id "
+                        + "WHERE NOT EXISTS (SELECT 1 FROM student_stats s WHERE s.user_id = u.id) "
+                        + "GROUP BY u.id, u.created_at");
+        if (created > 0) {
+            log.info("Created student stats for {} users", created);
+        }
+    }
+
+    public void register(Long userId, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO student_stats (user_id, attempts, score_sum, average_score, last_active_at) "
+                + "VALUES (?, 0, 0, 0, ?)", userId, Timestamp.valueOf(createdAt != null ? createdAt : LocalDateTime.now()));
+    }
+
+    /**
+     * Adds a batch of results to the totals of their users. Runs inside the
+     * transaction that inserts them, so both commit or roll back together.
+     */
+    public void record(List<PendingResult> results) {
+        Map<Long, long[]> totals = new HashMap<>();
+        Map<Long, LocalDateTime> latest = new HashMap<>();
+        for (PendingResult result : results) {
+            long[] total = totals.computeIfAbsent(result.getUserId(), id -> new long[2]);
+            total[0]++;
+            total[1] += result.getScore();
+            latest.merge(result.getUserId(), result.getCompletedAt(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+
+        List<Object[]> rows = new ArrayList<>(totals.size());
+        totals.forEach((userId, total) -> rows.add(new Object[]{
+                total[0], total[1], total[1], total[0], Timestamp.valueOf(latest.get(userId)), userId}));
+        jdbcTemplate.batchUpdate("UPDATE student_stats SET attempts = attempts + ?, score_sum = score_sum + ?, "
+                + "average_score = CAST(score_sum + ? AS double precision) / (attempts + ?), "
+                + "last_active_at = GREATEST(last_active_at, ?) WHERE user_id = ?", rows);
+    }
+
+    /**
+     * One page of students. search matches the start of the name or email
+     * (case-insensitive), so it can use the prefix indexes; status is
+     * "active" or "inactive", sort is one of name, email, joined, attempts,
+     * averageScore, lastActive.
+     */
+    public StudentPage getStudents(String search, String status, String sort, String direction,
+                                   String cursor, Integer size) {
+        SortKey key = SortKey.of(sort == null ? "name" : sort);
+        boolean descending = "desc".equalsIgnoreCase(direction);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        StringBuilder where = new StringBuilder("WHERE u.role = 'STUDENT' ");
+        List<Object> args = new ArrayList<>();
+        if (search != null && !search.isBlank()) {
+            String pattern = escapeLike(search.trim().toLowerCase(Locale.ROOT)) + "%";
+            where.append("AND (LOWER(u.name) LIKE ? ESCAPE '\\' OR u.email LIKE ? ESCAPE '\\') ");
+            args.add(pattern);
+            args.add(pattern);
+        }
+        if (status != null && !status.isBlank() && !"all".equalsIgnoreCase(status)) {
+            if (!"active".equalsIgnoreCase(status) && !"inactive".equalsIgnoreCase(status)) {
+                throw new RuntimeException("Invalid status. Use active, inactive or all");
+            }
+            where.append("active".equalsIgnoreCase(status) ? "AND s.last_active_at >= ? " : "AND s.last_active_at < ? ");
+            args.add(Timestamp.valueOf(activeSince()));
+        }
+
+        Long total = null;
+        boolean totalExact = true;
+        if (cursor == null) {
+            List<Object> countArgs = new ArrayList<>(args);
+            countArgs.add(MAX_COUNT + 1);
+            total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT 1 FROM student_stats s "
+                    + "JOIN users u ON u.id = s.user_id " + where + "LIMIT ?) matches", Long.class, countArgs.toArray());
+            if (total > MAX_COUNT) {
+                total = (long) MAX_COUNT;
+                totalExact = false;
+            }
+        }
+
+        StringBuilder sql = new StringBuilder(SELECT).append(where);
+        if (cursor != null) {
+            Cursor after = Cursor.decode(cursor, key, descending);
+            String comparison = descending ? "<" : ">";
+            if (key.column == null) {
+                sql.append("AND u.id ").append(comparison).append(" ? ");
+            } else {
+                sql.append("AND (").append(key.column).append(", u.id) ").append(comparison).append(" (?, ?) ");
+                args.add(after.value);
+            }
+            args.add(after.id);
+        }
+        String order = descending ? " DESC" : " ASC";
+        sql.append("ORDER BY ");
+        if (key.column != null) {
+            sql.append(key.column).append(order).append(", ");
+        }
+        sql.append("u.id").append(order).append(" LIMIT ?");
+        args.add(pageSize);
+
+        LocalDateTime activeSince = activeSince();
+        List<Object[]> rows = new ArrayList<>(pageSize);
+        List<StudentSummary> items = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            LocalDateTime lastActive = rs.getTimestamp("last_active_at").toLocalDateTime();
+            int attempts = rs.getInt("attempts");
+            StudentSummary summary = new StudentSummary(
+                    rs.getLong("id"),
+                    rs.getString("name"),
+                    rs.getString("email"),
+                    createdAt == null ? null : createdAt.toLocalDateTime(),
+                    lastActive.isBefore(activeSince) ? "inactive" : "active",
+                    attempts,
+                    attempts == 0 ? null : Math.round(rs.getDouble("average_score") * 10) / 10.0,
+                    lastActive);
+            rows.add(new Object[]{key.column == null ? null : rs.getObject(key.alias), summary.getId()});
+            return summary;
+        }, args.toArray());
+
+        String nextCursor = null;
+        if (items.size() == pageSize) {
+            Object[] last = rows.get(rows.size() - 1);
+            nextCursor = new Cursor(last[0], (Long) last[1]).encode(key, descending);
+        }
+        return new StudentPage(items, nextCursor, total, totalExact);
+    }
+
+    private LocalDateTime activeSince() {
+        return LocalDateTime.now().minusDays(activeDays);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // Whitelisted sort columns; "joined" sorts on the id, which grows with signup time
+    private enum SortKey {
+        NAME("name", "u.name", "name"),
+        EMAIL("email", "u.email", "email"),
+        JOINED("joined", null, null),
+        ATTEMPTS("attempts", "s.attempts", "attempts"),
+        AVERAGE_SCORE("averageScore", "s.average_score", "average_score"),
+        LAST_ACTIVE("lastActive", "s.last_active_at", "last_active_at");
+
+        private final String param;
+        private final String column;
+        private final String alias;
+
+        SortKey(String param, String column, String alias) {
+            this.param = param;
+            this.column = column;
+            this.alias = alias;
+        }
+
+        static SortKey of(String param) {
+            for (SortKey key : values()) {
+                if (key.param.equalsIgnoreCase(param)) {
+                    return key;
+                }
+            }
+            throw new RuntimeException("Invalid sort. Use name, email, joined, attempts, averageScore or lastActive");
+        }
+    }
+
+    /**
+     * Position after the last row of a page: its sort value and id, tagged
+     * with the sort it belongs to. Encoded as URL-safe base64 of
+     * "sort|direction|id|value".
+     */
+    private static final class Cursor {
+        private final Object value;
+        private final long id;
+
+        private Cursor(Object value, long id) {
+            this.value = value;
+            this.id = id;
+        }
+
+        String encode(SortKey key, boolean descending) {
+            String text = key.param + "|" + (descending ? "desc" : "asc") + "|" + id + "|" + format(value);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor, SortKey key, boolean descending) {
+            String[] parts;
+            try {
+                parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+            if (parts.length != 4 || !parts[0].equals(key.param)
+                    || !parts[1].equals(descending ? "desc" : "asc")) {
+                throw new RuntimeException("Cursor does not match the requested sort");
+            }
+            try {
+                return new Cursor(parse(key, parts[3]), Long.parseLong(parts[2]));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+
+        private static String format(Object value) {
+            if (value instanceof Timestamp timestamp) {
+                return timestamp.toLocalDateTime().toString();
+            }
+            return value == null ? "" : value.toString();
+        }
+
+        private static Object parse(SortKey key, String value) {
+            switch (key) {
+                case ATTEMPTS:
+                    return Integer.parseInt(value);
+                case AVERAGE_SCORE:
+                    return Double.parseDouble(value);
+                case LAST_ACTIVE:
+                    return Timestamp.valueOf(LocalDateTime.parse(value));
+                default:
+                    return value;
+            }
+        }
+    }
+}
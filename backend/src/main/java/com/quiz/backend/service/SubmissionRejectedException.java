@@ -0,0 +1,12 @@
+package com.quiz.backend.service;
+
+/**
+ * Thrown when the result pipeline is saturated and cannot take another
+ * submission right now; the client is expected to retry shortly.
+ */
+public class SubmissionRejectedException extends RuntimeException {
+
+    public SubmissionRejectedException(String message) {
+        super(message);
+    }
+}
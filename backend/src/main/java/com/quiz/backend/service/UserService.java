@@ -0,0 +1,64 @@
+package com.quiz.backend.service;
+
+import com.quiz.backend.model.User;
+import com.quiz.backend.repository.UserRepository;
+import com.quiz.backend.security.PrincipalCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+public class UserService {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+    
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    public void changePassword(String currentPassword, String newPassword) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        String newHash = passwordHashingExecutor.run(() ->
+                passwordEncoder.matches(currentPassword, user.getPassword())
+                        ? passwordEncoder.encode(newPassword)
+                        : null);
+        if (newHash == null) {
+            throw new RuntimeException("Current password is incorrect");
+        }
+        
+        user.setPassword(newHash);
+        // Tokens issued before the change stop working
+        user.setCredentialsChangedAt(LocalDateTime.now());
+        userRepository.save(user);
+        principalCache.invalidate(email);
+    }
+    
+    public User changeRole(Long userId, String role) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        
+        try {
+            user.setRole(User.Role.valueOf(role.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid role. Use STUDENT or ADMIN");
+        }
+        
+        // Outstanding tokens were issued for the old role
+        user.setCredentialsChangedAt(LocalDateTime.now());
+        User saved = userRepository.save(user);
+        principalCache.invalidate(saved.getEmail());
+        return saved;
+    }
+}
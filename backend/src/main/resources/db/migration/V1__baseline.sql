@@ -0,0 +1,65 @@
+-- Schema as Hibernate's ddl-auto=update created it before versioned migrations:
+-- IDENTITY ids, no versions, attempts or stats. Databases that already have these
+-- tables are baselined at version 1, skip this script and run V2 onwards.
+
+create table users (
+    created_at timestamp(6),
+    id bigserial not null,
+    email varchar(255) unique,
+    name varchar(255),
+    password varchar(255),
+    role varchar(255) check (role in ('STUDENT','ADMIN')),
+    primary key (id)
+);
+
+create table quizzes (
+    duration_minutes integer,
+    is_active boolean,
+    created_at timestamp(6),
+    id bigserial not null,
+    updated_at timestamp(6),
+    category varchar(255),
+    description varchar(255),
+    difficulty varchar(255),
+    title varchar(255),
+    primary key (id)
+);
+
+create table questions (
+    correct_answer integer,
+    id bigserial not null,
+    quiz_id bigint,
+    option1 varchar(255),
+    option2 varchar(255),
+    option3 varchar(255),
+    option4 varchar(255),
+    question TEXT,
+    primary key (id)
+);
+
+create table results (
+    correct_answers integer,
+    score integer,
+    time_taken integer,
+    total_questions integer,
+    completed_at timestamp(6),
+    id bigserial not null,
+    quiz_id bigint,
+    user_id bigint,
+    primary key (id)
+);
+
+alter table if exists questions
+   add constraint FKn3gvco4b0kewxc0bywf1igfms
+   foreign key (quiz_id)
+   references quizzes;
+
+alter table if exists results
+   add constraint FKt6q4hhocvhex1y4e6xpcb4b9y
+   foreign key (quiz_id)
+   references quizzes;
+
+alter table if exists results
+   add constraint FKxtl9ahma532if6r68yvgo7ck
+   foreign key (user_id)
+   references users;
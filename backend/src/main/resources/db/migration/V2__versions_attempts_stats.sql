@@ -0,0 +1,73 @@
+-- Pooled id sequences (allocation 50). On existing databases SequenceInitializer
+-- moves them past the ids the IDENTITY columns already handed out.
+create sequence questions_seq start with 1 increment by 50;
+
+create sequence quiz_versions_seq start with 1 increment by 50;
+
+create sequence quizzes_seq start with 1 increment by 50;
+
+create sequence results_seq start with 1 increment by 50;
+
+-- Drawn subsets and published versions
+alter table quizzes add column questions_per_attempt integer;
+
+alter table quizzes add column current_version_id bigint;
+
+create table quiz_versions (
+    version_number integer not null,
+    created_at timestamp(6),
+    id bigint not null,
+    quiz_id bigint not null,
+    snapshot bytea not null,
+    primary key (id)
+);
+
+-- Compact per-question responses of a result and the version it was scored against
+alter table results add column quiz_version_id bigint;
+
+alter table results add column responses bytea;
+
+alter table results add column response_layout integer;
+
+create table attempt_answers (
+    answer smallint,
+    attempt_id bigint not null,
+    question_id bigint not null,
+    primary key (attempt_id, question_id)
+);
+
+create table student_stats (
+    attempts integer not null,
+    average_score float(53) not null,
+    last_active_at timestamp(6) not null,
+    score_sum bigint not null,
+    user_id bigint not null,
+    primary key (user_id)
+);
+
+create index idx_quiz_versions_quiz_id
+   on quiz_versions (quiz_id, version_number);
+
+create index idx_quizzes_active_category
+   on quizzes (is_active, category);
+
+create index idx_quizzes_active_difficulty
+   on quizzes (is_active, difficulty);
+
+create index idx_results_quiz_id
+   on results (quiz_id, id);
+
+create index idx_results_user_id
+   on results (user_id, completed_at);
+
+create index idx_student_stats_average
+   on student_stats (average_score, user_id);
+
+create index idx_student_stats_attempts
+   on student_stats (attempts, user_id);
+
+create index idx_student_stats_last_active
+   on student_stats (last_active_at, user_id);
+
+create index idx_users_role_name
+   on users (role, name, id);
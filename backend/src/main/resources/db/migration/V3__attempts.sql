@@ -0,0 +1,12 @@
+-- Running attempts, so a restart can restore them together with their
+-- autosaved answers. Rows of both tables go when the attempt is submitted
+-- or expires.
+create table attempts (
+    expires_at timestamp(6) not null,
+    id bigint not null,
+    quiz_version_id bigint not null,
+    started_at timestamp(6) not null,
+    user_id bigint not null,
+    user_name varchar(255),
+    primary key (id)
+);
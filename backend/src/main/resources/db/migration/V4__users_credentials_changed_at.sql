@@ -0,0 +1,2 @@
+-- Tokens issued before this instant are rejected on every instance
+alter table users add column credentials_changed_at timestamp(6);
@@ -0,0 +1,5 @@
+-- Key of the journaled submission a row was written from. Replaying the
+-- journal after a crash skips submissions whose row is already there.
+create sequence result_submissions_seq start with 1 increment by 50;
+alter table results add column submission_id bigint;
+create unique index idx_results_submission_id on results (submission_id);
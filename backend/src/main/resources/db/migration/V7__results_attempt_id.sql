@@ -0,0 +1,4 @@
+-- Attempt a result was submitted from, so an attempt whose result is already
+-- stored is not restored and auto-submitted a second time
+alter table results add column attempt_id bigint;
+create unique index idx_results_attempt_id on results (attempt_id);
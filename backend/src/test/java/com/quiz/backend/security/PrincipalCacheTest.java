@@ -0,0 +1,34 @@
+package com.quiz.backend.security;
+
+import com.quiz.backend.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrincipalCacheTest {
+
+    private static final long CHANGED = 1_700_000_000_500L;
+
+    @Test
+    void revokesTokensIssuedUpToTheSecondOfTheChange() {
+        UserPrincipal principal = principal(CHANGED);
+
+        assertTrue(PrincipalCache.isRevoked(principal, new Date(CHANGED - 1_000)));
+        assertTrue(PrincipalCache.isRevoked(principal, new Date(CHANGED - 500)));
+        assertTrue(PrincipalCache.isRevoked(principal, new Date(CHANGED + 400)));
+        assertFalse(PrincipalCache.isRevoked(principal, new Date(CHANGED + 500)));
+    }
+
+    @Test
+    void keepsTokensOfUsersWhoNeverChangedCredentials() {
+        assertFalse(PrincipalCache.isRevoked(principal(0), new Date(CHANGED)));
+        assertTrue(PrincipalCache.isRevoked(principal(CHANGED), null));
+    }
+
+    private static UserPrincipal principal(long credentialsChangedAt) {
+        return new UserPrincipal(1L, "stu@x.com", "Stu", User.Role.STUDENT, null, credentialsChangedAt);
+    }
+}
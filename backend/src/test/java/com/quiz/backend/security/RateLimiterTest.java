@@ -0,0 +1,110 @@
+package com.quiz.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    // One token per second, three in a burst
+    private final RateLimiter limiter = new RateLimiter("test", RateLimiter.Scope.IP, 60, 3, 100);
+
+    @Test
+    void allowsTheBurstThenReportsTheWaitForTheNextToken() {
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("a", now));
+        }
+
+        assertEquals(SECOND, limiter.tryAcquire("a", now));
+        assertEquals(SECOND / 2, limiter.tryAcquire("a", now + SECOND / 2));
+        assertEquals(2, limiter.getRejected());
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a", now);
+        }
+
+        assertEquals(0, limiter.tryAcquire("a", now + SECOND));
+        assertEquals(SECOND, limiter.tryAcquire("a", now + SECOND));
+        assertEquals(0, limiter.tryAcquire("a", now + 2 * SECOND));
+    }
+
+    @Test
+    void aRefilledBucketHoldsNoMoreThanTheBurst() {
+        long now = 1_000 * SECOND;
+        limiter.tryAcquire("a", now);
+
+        long later = now + 60 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("a", later));
+        }
+        assertTrue(limiter.tryAcquire("a", later) > 0);
+    }
+
+    @Test
+    void keepsASeparateBucketPerKey() {
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a", now);
+        }
+
+        assertTrue(limiter.tryAcquire("a", now) > 0);
+        assertEquals(0, limiter.tryAcquire("b", now));
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void handlesNanoTimeWrappingAround() {
+        long now = Long.MAX_VALUE - SECOND / 2;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("a", now));
+        }
+        assertEquals(SECOND, limiter.tryAcquire("a", now));
+
+        assertEquals(0, limiter.tryAcquire("a", now + SECOND));
+    }
+
+    @Test
+    void evictsRefilledBucketsFirstWhenFull() {
+        RateLimiter small = new RateLimiter("small", RateLimiter.Scope.IP, 60, 1, 10);
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 10; i++) {
+            small.tryAcquire("idle-" + i, now);
+        }
+        long later = now + 10 * SECOND;
+        small.tryAcquire("busy", later);
+        assertEquals(1, small.size());
+
+        assertTrue(small.tryAcquire("busy", later) > 0);
+    }
+
+    @Test
+    void evictsArbitraryBucketsWhenNoneHaveRefilled() {
+        RateLimiter small = new RateLimiter("small", RateLimiter.Scope.IP, 60, 1, 10);
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 10; i++) {
+            small.tryAcquire("key-" + i, now);
+        }
+
+        small.tryAcquire("new", now);
+        assertTrue(small.size() <= 9);
+    }
+
+    @Test
+    void rejectsLimitsWithoutPermits() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RateLimiter("none", RateLimiter.Scope.USER, 0, 1, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RateLimiter("none", RateLimiter.Scope.USER, 10, 0, 10));
+    }
+}
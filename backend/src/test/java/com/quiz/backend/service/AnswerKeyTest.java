@@ -0,0 +1,86 @@
+package com.quiz.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnswerKeyTest {
+
+    // Questions 10, 20, 30 with 4, 2 and 3 options; correct options 1, 0 and 2
+    private final AnswerKey key = new AnswerKey(1L, 7L, "Quiz", "Cat", 10, true, 0,
+            new long[]{10, 20, 30}, new byte[]{1, 0, 2}, new byte[]{4, 2, 3});
+
+    @Test
+    void toOptionsOrdersAnswersByKey() {
+        Map<Long, Integer> answers = new HashMap<>();
+        answers.put(30L, 2);
+        answers.put(10L, 3);
+
+        assertArrayEquals(new byte[]{3, AnswerKey.NO_ANSWER, 2}, key.toOptions(answers));
+        assertArrayEquals(key.emptyAnswers(), key.toOptions(null));
+    }
+
+    @Test
+    void toOptionsTreatsAnswersOutsideTheOptionsAsUnanswered() {
+        Map<Long, Integer> answers = new HashMap<>();
+        answers.put(10L, -2);
+        answers.put(20L, 2);
+        answers.put(30L, 254);
+
+        byte[] options = key.toOptions(answers);
+
+        assertArrayEquals(new byte[]{AnswerKey.NO_ANSWER, AnswerKey.NO_ANSWER, AnswerKey.NO_ANSWER}, options);
+        assertEquals(3, key.countPresented(options));
+    }
+
+    @Test
+    void clientAnswersCannotShrinkTheScoredQuestions() {
+        Map<Long, Integer> answers = new HashMap<>();
+        answers.put(10L, 1);
+        answers.put(20L, (int) AnswerKey.NOT_PRESENTED);
+        answers.put(30L, 256 + AnswerKey.NOT_PRESENTED);
+
+        byte[] options = key.toOptions(answers);
+        int correct = key.countCorrect(options);
+
+        assertEquals(1, correct);
+        assertEquals(33, key.score(correct, key.countPresented(options)));
+    }
+
+    @Test
+    void scoresOnlyPresentedQuestions() {
+        byte[] options = {1, AnswerKey.NOT_PRESENTED, 0};
+
+        assertEquals(1, key.countCorrect(options));
+        assertEquals(2, key.countPresented(options));
+        assertEquals(50, key.score(1, 2));
+        assertEquals(0, key.score(0, 0));
+    }
+
+    @Test
+    void countsCorrectAnswersFromAMap() {
+        Map<Long, Integer> answers = new HashMap<>();
+        answers.put(10L, 1);
+        answers.put(20L, 0);
+        answers.put(30L, 1);
+        answers.put(99L, 0);
+
+        assertEquals(2, key.countCorrect(answers));
+        assertEquals(66, key.score(2));
+    }
+
+    @Test
+    void findsQuestionsByIdAndDrawsEveryQuestionByDefault() {
+        assertEquals(1, key.indexOf(20));
+        assertEquals(-1, key.indexOf(25));
+        assertEquals(3, key.getDrawCount());
+
+        AnswerKey subset = new AnswerKey(1L, 7L, "Quiz", "Cat", 10, true, 2,
+                new long[]{10, 20, 30}, new byte[]{1, 0, 2}, new byte[]{4, 2, 3});
+        assertEquals(2, subset.getDrawCount());
+    }
+}
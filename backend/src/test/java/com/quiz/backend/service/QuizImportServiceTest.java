@@ -0,0 +1,94 @@
+package com.quiz.backend.service;
+
+import com.quiz.backend.model.Question;
+import com.quiz.backend.model.Quiz;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QuizImportServiceTest {
+
+    @Test
+    void acceptsAWellFormedQuiz() {
+        assertNull(QuizImportService.validate(quiz(question("a", "b", "c", "d", 3))));
+        assertNull(QuizImportService.validate(quiz(question("a", "b", null, null, 0))));
+    }
+
+    @Test
+    void requiresTitleQuestionsAndPositiveDuration() {
+        Quiz untitled = quiz(question("a", "b", null, null, 0));
+        untitled.setTitle(" ");
+        assertEquals("Title is required", QuizImportService.validate(untitled));
+
+        Quiz empty = quiz();
+        assertEquals("Quiz has no questions", QuizImportService.validate(empty));
+
+        Quiz timed = quiz(question("a", "b", null, null, 0));
+        timed.setDurationMinutes(0);
+        assertEquals("Duration must be positive", QuizImportService.validate(timed));
+    }
+
+    @Test
+    void requiresTextAndTwoOptions() {
+        Question blank = question("a", "b", null, null, 0);
+        blank.setQuestion("");
+        assertEquals("Question 1 has no text", QuizImportService.validate(quiz(blank)));
+
+        assertEquals("Question 2 needs at least two options",
+                QuizImportService.validate(quiz(question("a", "b", null, null, 0), question("a", " ", "c", null, 0))));
+    }
+
+    @Test
+    void rejectsCorrectAnswersOutsideTheOptions() {
+        String invalid = "Question 1 has no valid correct answer";
+        assertEquals(invalid, QuizImportService.validate(quiz(question("a", "b", "c", "d", 4))));
+        assertEquals(invalid, QuizImportService.validate(quiz(question("a", "b", "c", "d", -1))));
+        assertEquals(invalid, QuizImportService.validate(quiz(question("a", "b", "c", "d", null))));
+    }
+
+    @Test
+    void rejectsACorrectAnswerPointingAtABlankOption() {
+        String invalid = "Question 1 has no valid correct answer";
+        assertEquals(invalid, QuizImportService.validate(quiz(question("a", "b", null, null, 2))));
+        assertEquals(invalid, QuizImportService.validate(quiz(question("a", "b", "c", " ", 3))));
+    }
+
+    @Test
+    void prepareDropsIdsFromTheUpload() {
+        Question question = question("a", "b", null, null, 0);
+        question.setId(12L);
+        Quiz quiz = quiz(question);
+        quiz.setId(5L);
+        quiz.setCurrentVersionId(9L);
+
+        QuizImportService.prepare(quiz);
+
+        assertNull(quiz.getId());
+        assertNull(quiz.getCurrentVersionId());
+        assertNull(quiz.getQuestions().get(0).getId());
+    }
+
+    private static Quiz quiz(Question... questions) {
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Imported");
+        quiz.setDurationMinutes(10);
+        quiz.setQuestions(new ArrayList<>(List.of(questions)));
+        return quiz;
+    }
+
+    private static Question question(String option1, String option2, String option3, String option4,
+                                     Integer correctAnswer) {
+        Question question = new Question();
+        question.setQuestion("Which one?");
+        question.setOption1(option1);
+        question.setOption2(option2);
+        question.setOption3(option3);
+        question.setOption4(option4);
+        question.setCorrectAnswer(correctAnswer);
+        return question;
+    }
+}
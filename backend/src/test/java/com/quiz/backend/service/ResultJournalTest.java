@@ -0,0 +1,154 @@
+package com.quiz.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysEverythingAfterTheLastWatermark() throws IOException {
+        Path path = dir.resolve("results.journal");
+        List<PendingResult> queued = new ArrayList<>();
+        try (ResultJournal journal = ResultJournal.open(path)) {
+            assertTrue(journal.recover().isEmpty());
+            long position = 0;
+            for (int i = 1; i <= 5; i++) {
+                PendingResult result = result(i);
+                result.setSubmissionId(100L + i);
+                position = journal.append(result, queued::add);
+            }
+            journal.sync(position);
+            journal.commit(3);
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), queued.stream().map(PendingResult::getSequence).toList());
+        try (ResultJournal journal = ResultJournal.open(path)) {
+            List<PendingResult> replay = journal.recover();
+
+            assertEquals(List.of(4L, 5L), replay.stream().map(PendingResult::getSequence).toList());
+            PendingResult fourth = replay.get(0);
+            assertEquals(4L, fourth.getUserId());
+            assertEquals(40, fourth.getScore());
+            assertArrayEquals(new byte[]{1, AnswerKey.NO_ANSWER, AnswerKey.NOT_PRESENTED}, fourth.getResponses());
+            assertEquals(7L, fourth.getQuizVersionId());
+            assertEquals(104L, fourth.getSubmissionId());
+        }
+    }
+
+    @Test
+    void readsEntriesWrittenBeforeSubmissionIds() {
+        PendingResult result = PendingResult.fromJournalLine("A,3,4,1,40,3,1,30,2026-01-01T12:00,42,AX/+,7");
+
+        assertEquals(3L, result.getSequence());
+        assertEquals(7L, result.getQuizVersionId());
+        assertNull(result.getSubmissionId());
+    }
+
+    @Test
+    void continuesSequencesAfterRecovery() throws IOException {
+        Path path = dir.resolve("results.journal");
+        try (ResultJournal journal = ResultJournal.open(path)) {
+            journal.recover();
+            journal.append(result(1), entry -> { });
+            journal.append(result(2), entry -> { });
+        }
+
+        try (ResultJournal journal = ResultJournal.open(path)) {
+            journal.recover();
+            PendingResult next = result(3);
+            journal.append(next, entry -> { });
+            assertEquals(3L, next.getSequence());
+        }
+    }
+
+    @Test
+    void commitIsWrittenBeforeItReturns() throws IOException {
+        Path path = dir.resolve("results.journal");
+        try (ResultJournal journal = ResultJournal.open(path)) {
+            journal.recover();
+            journal.append(result(1), entry -> { });
+            journal.commit(1);
+
+            // Read by a second handle while the first is still open
+            assertTrue(Files.readAllLines(path, StandardCharsets.UTF_8).contains("C,1"));
+        }
+        try (ResultJournal journal = ResultJournal.open(path)) {
+            assertTrue(journal.recover().isEmpty());
+        }
+    }
+
+    @Test
+    void truncatesOnceEverythingIsCommitted() throws IOException {
+        Path path = dir.resolve("results.journal");
+        try (ResultJournal journal = ResultJournal.open(path)) {
+            journal.recover();
+            journal.append(result(1), entry -> { });
+            journal.append(result(2), entry -> { });
+            journal.commit(1);
+            journal.truncateIfDrained();
+            assertTrue(Files.size(path) > 0);
+
+            journal.commit(2);
+            journal.truncateIfDrained();
+            assertEquals(0, Files.size(path));
+        }
+    }
+
+    @Test
+    void skipsATornLastLine() throws IOException {
+        Path path = dir.resolve("results.journal");
+        try (ResultJournal journal = ResultJournal.open(path)) {
+            journal.recover();
+            journal.sync(journal.append(result(1), entry -> { }));
+        }
+        Files.writeString(path, "A,2,2,1,5", StandardOpenOption.APPEND);
+
+        try (ResultJournal journal = ResultJournal.open(path)) {
+            List<PendingResult> replay = journal.recover();
+            assertEquals(List.of(1L), replay.stream().map(PendingResult::getSequence).toList());
+
+            PendingResult next = result(2);
+            journal.append(next, entry -> { });
+            assertEquals(2L, next.getSequence());
+        }
+        try (ResultJournal journal = ResultJournal.open(path)) {
+            assertEquals(2, journal.recover().size());
+        }
+    }
+
+    @Test
+    void keepsTheAttemptAnEntryWasSubmittedFrom() {
+        PendingResult submitted = new PendingResult(4L, 1L, 40, 3, 1, 30, LocalDateTime.of(2026, 1, 1, 12, 0),
+                new byte[]{1, AnswerKey.NO_ANSWER, AnswerKey.NOT_PRESENTED}, 42, 7L, 900L);
+        submitted.setSubmissionId(104L);
+
+        PendingResult read = PendingResult.fromJournalLine(submitted.toJournalLine());
+
+        assertEquals(900L, read.getAttemptId());
+        assertEquals(104L, read.getSubmissionId());
+        assertNull(PendingResult.fromJournalLine(result(4).toJournalLine()).getAttemptId());
+    }
+
+    private static PendingResult result(long userId) {
+        return new PendingResult(userId, 1L, (int) userId * 10, 3, 1, 30,
+                LocalDateTime.of(2026, 1, 1, 12, 0), new byte[]{1, AnswerKey.NO_ANSWER, AnswerKey.NOT_PRESENTED},
+                42, 7L);
+    }
+}
@@ -1,7 +1,8 @@
 import api from './api';
 
 export const resultService = {
-  // Submit quiz attempt (student only)
+  // Submit the running attempt on attemptData.quizId (student only); start it
+  // first with POST /quizzes/{id}/attempts, the server measures the time taken
   submitQuizAttempt: async (attemptData) => {
     const response = await api.post('/results', attemptData);
     return response.data;